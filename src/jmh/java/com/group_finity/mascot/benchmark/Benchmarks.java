@@ -0,0 +1,36 @@
+package com.group_finity.mascot.benchmark;
+
+import com.group_finity.mascot.Main;
+import com.group_finity.mascot.headless.HeadlessSimulation;
+
+/**
+ * Shared set up for the benchmarks. Everything runs against the headless backend from the project directory,
+ * using the image set named by the {@code benchmark.imageSet} system property.
+ */
+final class Benchmarks {
+
+    static final String IMAGE_SET = System.getProperty("benchmark.imageSet", "Shimeji");
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Creates a headless simulation with the benchmark image set loaded.
+     *
+     * @param screens the screen layout, in the format of the {@code HeadlessScreens} setting
+     * @param window  the active window, in the format of the {@code HeadlessWindow} setting
+     */
+    static HeadlessSimulation simulation(final String screens, final String window) {
+        Main.getInstance().getProperties().setProperty("HeadlessScreens", screens);
+        Main.getInstance().getProperties().setProperty("HeadlessWindow", window);
+        final HeadlessSimulation simulation = new HeadlessSimulation();
+        if (!simulation.load(IMAGE_SET)) {
+            throw new IllegalStateException("Could not load image set " + IMAGE_SET);
+        }
+        return simulation;
+    }
+
+    static HeadlessSimulation simulation() {
+        return simulation("1920x1080", "800x600+400+200");
+    }
+}
@@ -0,0 +1,57 @@
+package com.group_finity.mascot.benchmark;
+
+import com.group_finity.mascot.Main;
+import com.group_finity.mascot.action.Action;
+import com.group_finity.mascot.config.Configuration;
+import com.group_finity.mascot.headless.HeadlessSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an action from the default actions.xml, which happens on every behaviour switch, drag, hotspot
+ * click and breed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildActionBenchmark {
+
+    @Param({"Walk", "Fall", "Dragged", "ClimbAlongWall"})
+    public String action;
+
+    private HeadlessSimulation simulation;
+
+    private Configuration configuration;
+
+    @Setup
+    public void setUp() {
+        simulation = Benchmarks.simulation();
+        configuration = Main.getInstance().getConfiguration(Benchmarks.IMAGE_SET);
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public Action build() throws Exception {
+        return configuration.buildAction(action, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,69 @@
+package com.group_finity.mascot.benchmark;
+
+import com.group_finity.mascot.Main;
+import com.group_finity.mascot.Mascot;
+import com.group_finity.mascot.behavior.Behavior;
+import com.group_finity.mascot.config.Configuration;
+import com.group_finity.mascot.headless.HeadlessSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Choosing the next behaviour for a mascot standing on the floor, which evaluates every behaviour condition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildNextBehaviorBenchmark {
+
+    /**
+     * The behaviour that just ended, or empty for none.
+     */
+    @Param({"", "Fall"})
+    public String previous;
+
+    private HeadlessSimulation simulation;
+
+    private Configuration configuration;
+
+    private Mascot mascot;
+
+    private Point floor;
+
+    @Setup
+    public void setUp() throws Exception {
+        simulation = Benchmarks.simulation();
+        configuration = Main.getInstance().getConfiguration(Benchmarks.IMAGE_SET);
+        mascot = simulation.spawn(Benchmarks.IMAGE_SET);
+        simulation.tick();
+        floor = new Point(960, mascot.getEnvironment().getWorkArea().getBottom());
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public Behavior buildNextBehavior() throws Exception {
+        // Building may move a mascot that has nothing to do, so put it back every time
+        mascot.setAnchor(floor);
+        return configuration.buildNextBehavior(previous.isEmpty() ? null : previous, mascot);
+    }
+}
@@ -0,0 +1,60 @@
+package com.group_finity.mascot.benchmark;
+
+import com.group_finity.mascot.Main;
+import com.group_finity.mascot.NativeFactory;
+import com.group_finity.mascot.image.ImagePairLoader;
+import com.group_finity.mascot.image.ImagePairs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading, premultiplying, scaling and flipping one pose image, for each scaling filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImagePairLoaderBenchmark {
+
+    @Param({"NEAREST_NEIGHBOUR", "HQX", "BICUBIC"})
+    public ImagePairLoader.Filter filter;
+
+    @Param({"1", "2"})
+    public double scaling;
+
+    private final Point center = new Point(64, 128);
+
+    private String image;
+
+    @Setup
+    public void setUp() {
+        Main.getInstance().getProperties().setProperty("Environment", "headless");
+        NativeFactory.resetInstance();
+        image = "/" + Benchmarks.IMAGE_SET + "/Stand.png";
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        ImagePairs.clear();
+    }
+
+    @Benchmark
+    public void load() throws Exception {
+        ImagePairLoader.load(image, null, center, scaling, filter, 1.0);
+    }
+}
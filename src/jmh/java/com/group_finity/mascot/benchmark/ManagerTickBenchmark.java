@@ -0,0 +1,51 @@
+package com.group_finity.mascot.benchmark;
+
+import com.group_finity.mascot.headless.HeadlessSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full {@code Manager.tick()}: environment update, every mascot's behaviour and the render frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ManagerTickBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int mascots;
+
+    private HeadlessSimulation simulation;
+
+    @Setup
+    public void setUp() throws Exception {
+        simulation = Benchmarks.simulation();
+        simulation.spawn(Benchmarks.IMAGE_SET, mascots);
+        simulation.tick();
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public void tick() {
+        simulation.tick();
+    }
+}
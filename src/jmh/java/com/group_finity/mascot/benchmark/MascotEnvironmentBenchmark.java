@@ -0,0 +1,98 @@
+package com.group_finity.mascot.benchmark;
+
+import com.group_finity.mascot.Mascot;
+import com.group_finity.mascot.environment.Border;
+import com.group_finity.mascot.environment.MascotEnvironment;
+import com.group_finity.mascot.headless.HeadlessSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Border lookups for a mascot moving between the floor, the walls, the window and mid-air, on several
+ * monitor layouts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MascotEnvironmentBenchmark {
+
+    @Param({
+            "1920x1080",
+            "1920x1080,1920x1080",
+            "2560x1440,1920x1080+2560+360,1080x1920+-1080+0"
+    })
+    public String screens;
+
+    private HeadlessSimulation simulation;
+
+    private Mascot mascot;
+
+    private MascotEnvironment environment;
+
+    private Point[] anchors;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        simulation = Benchmarks.simulation(screens, "800x600+400+200");
+        mascot = simulation.spawn(Benchmarks.IMAGE_SET);
+        simulation.tick();
+        environment = mascot.getEnvironment();
+
+        // Points on every screen edge, on the window and in the air
+        final List<Point> points = new ArrayList<>();
+        for (final var area : simulation.getEnvironment().getScreens()) {
+            final Rectangle r = area.toRectangle();
+            points.add(new Point(r.x + r.width / 2, r.y + r.height));
+            points.add(new Point(r.x, r.y + r.height / 2));
+            points.add(new Point(r.x + r.width, r.y + r.height / 2));
+            points.add(new Point(r.x + r.width / 3, r.y + r.height / 3));
+        }
+        points.add(new Point(600, 200));
+        points.add(new Point(400, 500));
+        anchors = points.toArray(new Point[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    private void move() {
+        mascot.setAnchor(anchors[next]);
+        mascot.setLookRight((next & 1) == 0);
+        next = (next + 1) % anchors.length;
+    }
+
+    @Benchmark
+    public Border getFloor() {
+        move();
+        return environment.getFloor();
+    }
+
+    @Benchmark
+    public Border getWall() {
+        move();
+        return environment.getWall();
+    }
+}
@@ -0,0 +1,80 @@
+package com.group_finity.mascot.benchmark;
+
+import com.group_finity.mascot.Mascot;
+import com.group_finity.mascot.headless.HeadlessSimulation;
+import com.group_finity.mascot.script.Script;
+import com.group_finity.mascot.script.VariableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating a per-frame ({@code #{...}}) script the way behaviour conditions do, for conditions taken from
+ * the default behaviors.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScriptBenchmark {
+
+    @Param({
+            "mascot.totalCount < 50",
+            "mascot.environment.floor.isOn(mascot.anchor) || mascot.environment.activeIE.topBorder.isOn(mascot.anchor)",
+            "mascot.lookRight ? mascot.environment.workArea.rightBorder.isOn(mascot.anchor) : mascot.environment.workArea.leftBorder.isOn(mascot.anchor)",
+            "mascot.anchor.x >= mascot.environment.activeIE.left && mascot.anchor.x < mascot.environment.activeIE.right && mascot.environment.activeIE.visible"
+    })
+    public String condition;
+
+    /**
+     * How many other variables the script can see but does not use, as action parameters would be.
+     */
+    @Param({"0", "32"})
+    public int unused;
+
+    private HeadlessSimulation simulation;
+
+    private Script script;
+
+    private VariableMap variables;
+
+    @Setup
+    public void setUp() throws Exception {
+        simulation = Benchmarks.simulation();
+        final Mascot mascot = simulation.spawn(Benchmarks.IMAGE_SET);
+        simulation.tick();
+        mascot.setAnchor(new Point(960, mascot.getEnvironment().getWorkArea().getBottom()));
+
+        script = new Script(condition, true);
+        variables = new VariableMap();
+        variables.put("mascot", mascot);
+        for (int i = 0; i < unused; i++) {
+            variables.put("Unused" + i, i % 2 == 0 ? "Text" : mascot);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public Object get() throws Exception {
+        script.initFrame();
+        return script.get(variables);
+    }
+}
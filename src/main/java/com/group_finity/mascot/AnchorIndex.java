@@ -0,0 +1,166 @@
+package com.group_finity.mascot;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The mascots of a manager by the cell of {@link SpatialGrid} their anchor is in, moved to another cell as soon as
+ * their anchor crosses into it. Unlike the grid, queries answer where the mascots are now, so a mascot that has
+ * just been moved onto another is seen there within the same tick.
+ * <p>
+ * May be read and written from any thread. A mascot is only moved while holding its own lock, so its entry follows
+ * its anchor in order. An entry left behind by a mascot that has since left the manager is dropped when a query
+ * comes across it.
+ */
+final class AnchorIndex {
+
+	private final Manager manager;
+
+	private final Map<Long, Set<Mascot>> cells = new ConcurrentHashMap<>();
+
+	AnchorIndex(final Manager manager) {
+		this.manager = manager;
+	}
+
+	void add(final Mascot mascot, final Point anchor) {
+		cells.compute(key(anchor), (key, cell) -> {
+			final Set<Mascot> mascots = cell != null ? cell : ConcurrentHashMap.newKeySet();
+			mascots.add(mascot);
+			return mascots;
+		});
+	}
+
+	void remove(final Mascot mascot, final Point anchor) {
+		remove(mascot, key(anchor));
+	}
+
+	private void remove(final Mascot mascot, final long key) {
+		cells.computeIfPresent(key, (ignored, cell) -> cell.remove(mascot) && cell.isEmpty() ? null : cell);
+	}
+
+	/**
+	 * Moves a mascot's entry if its anchor has crossed into another cell.
+	 */
+	void move(final Mascot mascot, final Point from, final Point to) {
+		if (key(from) != key(to)) {
+			remove(mascot, from);
+			add(mascot, to);
+		}
+	}
+
+	/**
+	 * Counts the mascots anchored exactly at a point, stopping once the limit is reached.
+	 */
+	int countAt(final Point point, final int limit) {
+		final long key = key(point);
+		final Set<Mascot> cell = cells.get(key);
+		if (cell == null) {
+			return 0;
+		}
+		int count = 0;
+		for (final Mascot mascot : cell) {
+			if (isCurrent(mascot, key) && point.equals(mascot.getAnchor()) && ++count >= limit) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	List<Mascot> at(final Point point) {
+		return in(new Rectangle(point.x, point.y, 1, 1));
+	}
+
+	/**
+	 * @return the mascots whose anchor is no further than the radius from the centre
+	 */
+	List<Mascot> within(final Point centre, final int radius) {
+		final long limit = (long) radius * radius;
+		final List<Mascot> found = new ArrayList<>();
+		if (radius < 0) {
+			return found;
+		}
+		visit(centre.x - (long) radius, centre.y - (long) radius, centre.x + (long) radius, centre.y + (long) radius,
+				mascot -> {
+					final Point anchor = mascot.getAnchor();
+					final long dx = (long) anchor.x - centre.x;
+					final long dy = (long) anchor.y - centre.y;
+					if (dx * dx + dy * dy <= limit) {
+						found.add(mascot);
+					}
+				});
+		return found;
+	}
+
+	/**
+	 * @return the mascots whose anchor lies inside the rectangle
+	 */
+	List<Mascot> in(final Rectangle area) {
+		final List<Mascot> found = new ArrayList<>();
+		if (area.isEmpty()) {
+			return found;
+		}
+		visit(area.x, area.y, area.x + (long) area.width - 1, area.y + (long) area.height - 1, mascot -> {
+			if (area.contains(mascot.getAnchor())) {
+				found.add(mascot);
+			}
+		});
+		return found;
+	}
+
+	/**
+	 * Passes every current mascot in the cells overlapping a box to the visitor. When the box covers more cells than
+	 * are occupied, every occupied cell is looked at instead.
+	 */
+	private void visit(final long left, final long top, final long right, final long bottom,
+			final Consumer<Mascot> visitor) {
+		final long firstColumn = Math.floorDiv(left, SpatialGrid.CELL_SIZE);
+		final long lastColumn = Math.floorDiv(right, SpatialGrid.CELL_SIZE);
+		final long firstRow = Math.floorDiv(top, SpatialGrid.CELL_SIZE);
+		final long lastRow = Math.floorDiv(bottom, SpatialGrid.CELL_SIZE);
+		if ((lastColumn - firstColumn + 1) * (lastRow - firstRow + 1) > cells.size()) {
+			for (final Map.Entry<Long, Set<Mascot>> cell : cells.entrySet()) {
+				visit(cell.getKey(), cell.getValue(), visitor);
+			}
+			return;
+		}
+		for (long row = firstRow; row <= lastRow; row++) {
+			for (long column = firstColumn; column <= lastColumn; column++) {
+				final long key = SpatialGrid.key((int) column, (int) row);
+				final Set<Mascot> cell = cells.get(key);
+				if (cell != null) {
+					visit(key, cell, visitor);
+				}
+			}
+		}
+	}
+
+	private void visit(final long key, final Set<Mascot> cell, final Consumer<Mascot> visitor) {
+		for (final Mascot mascot : cell) {
+			if (isCurrent(mascot, key)) {
+				visitor.accept(mascot);
+			}
+		}
+	}
+
+	/**
+	 * Whether an entry still stands for a mascot of this manager, dropping it if not. An entry whose mascot has just
+	 * moved on is left for the move to take away.
+	 */
+	private boolean isCurrent(final Mascot mascot, final long key) {
+		if (mascot.getManager() != manager) {
+			remove(mascot, key);
+			return false;
+		}
+		return key(mascot.getAnchor()) == key;
+	}
+
+	private static long key(final Point point) {
+		return SpatialGrid.key(SpatialGrid.cell(point.x), SpatialGrid.cell(point.y));
+	}
+}
@@ -262,6 +262,18 @@ public class DebugWindow extends javax.swing.JFrame
         lblEnvironmentHeightValue.setText( String.format( "%d", height ) );
     }
     
+    /**
+     * Moves the mascot details into a tab and adds a second tab with the tick timings of its manager.
+     */
+    void setStatistics( TickStatistics statistics )
+    {
+        final javax.swing.JTabbedPane tabs = new javax.swing.JTabbedPane( );
+        tabs.addTab( Main.getInstance( ).getLanguageBundle( ).getString( "Shimeji" ), getContentPane( ) );
+        tabs.addTab( Main.getInstance( ).getLanguageBundle( ).getString( "TickTimings" ), new TickStatisticsPanel( statistics ) );
+        setContentPane( tabs );
+        pack( );
+    }
+    
     @Override
     public void setVisible( boolean b )
     {
@@ -0,0 +1,86 @@
+package com.group_finity.mascot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Turns the frames produced by the logical tick into frames for a faster render clock.
+ * <p>
+ * Each render shows the windows part way between the last two logical states, so movement is
+ * smooth while behaviours still only run at the tick rate. This means windows are drawn up to one
+ * tick behind the simulation.
+ */
+final class FrameInterpolator {
+
+	private record Submission(RenderFrame frame, long time) {
+	}
+
+	/**
+	 * Frames from the tick thread that the render thread has not picked up yet.
+	 */
+	private final Queue<Submission> submitted = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Length of one logical tick, in nanoseconds.
+	 */
+	private final long tickPeriod;
+
+	// The rest is only used by the render thread
+
+	private RenderFrame current;
+
+	private long currentTime;
+
+	private boolean first;
+
+	/**
+	 * Whether the current frame has been rendered at its final position.
+	 */
+	private boolean settled = true;
+
+	FrameInterpolator(final long tickPeriod) {
+		this.tickPeriod = tickPeriod;
+	}
+
+	/**
+	 * Hands over the frame of a logical tick that has just finished. Called on the tick thread.
+	 */
+	void submit(final RenderFrame frame) {
+		submitted.add(new Submission(frame, System.nanoTime()));
+	}
+
+	/**
+	 * Builds the frame to render now. Called on the render thread.
+	 *
+	 * @return the frame, or null if nothing has to be redrawn
+	 */
+	RenderFrame next(final long now) {
+		if (!submitted.isEmpty()) {
+			final List<RenderFrame> frames = new ArrayList<>();
+			if (!settled) {
+				// Windows still moving towards their old target must not be left short of it
+				frames.add(current.remainder());
+			}
+			Submission submission;
+			while ((submission = submitted.poll()) != null) {
+				frames.add(submission.frame());
+				currentTime = submission.time();
+			}
+			current = frames.size() == 1 ? frames.get(0) : RenderFrame.merge(frames);
+			first = true;
+			settled = false;
+		}
+
+		if (settled) {
+			return null;
+		}
+
+		final double alpha = Math.min(1, (now - currentTime) / (double) tickPeriod);
+		final RenderFrame frame = current.interpolate(alpha, first);
+		first = false;
+		settled = alpha >= 1;
+		return frame;
+	}
+}
@@ -291,14 +291,18 @@ public class Main {
         return instance;
     }
 
-    private static final JFrame frame = new javax.swing.JFrame();
+    private static final JFrame frame = GraphicsEnvironment.isHeadless() ? null : new javax.swing.JFrame();
 
     /**
-     * 显示一个错误消息对话框。
+     * 显示一个错误消息对话框。没有显示器时只写入日志。
      * 
      * @param message 要显示的消息。
      */
     public static void showError(String message) {
+        if (GraphicsEnvironment.isHeadless()) {
+            log.log(Level.SEVERE, message);
+            return;
+        }
         JOptionPane.showMessageDialog(frame, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
@@ -497,7 +501,7 @@ public class Main {
      * @param imageSet 要加载配置的图像集名称。
      * @return 如果加载成功，则返回 true；否则返回 false。
      */
-    private boolean loadConfiguration(final String imageSet) {
+    public boolean loadConfiguration(final String imageSet) {
         try {
             // 获取应用程序基础目录
             String baseDir = System.getProperty("app.dir");
@@ -573,12 +577,12 @@ public class Main {
             return true;
         } catch (final SAXException | ConfigurationException | ParserConfigurationException e) {
             log.log(Level.SEVERE, "Failed to load configuration files", e);
-            Main.showError(languageBundle.getString("FailedLoadConfigErrorMessage") + "\n" + e.getMessage() + "\n"
-                    + languageBundle.getString("SeeLogForDetails"));
+            Main.showError(getLanguageBundle().getString("FailedLoadConfigErrorMessage") + "\n" + e.getMessage() + "\n"
+                    + getLanguageBundle().getString("SeeLogForDetails"));
         } catch (final Exception e) {
             log.log(Level.SEVERE, "Failed to load configuration files", e);
-            Main.showError(languageBundle.getString("FailedLoadConfigErrorMessage") + "\n" + e.getMessage() + "\n"
-                    + languageBundle.getString("SeeLogForDetails"));
+            Main.showError(getLanguageBundle().getString("FailedLoadConfigErrorMessage") + "\n" + e.getMessage() + "\n"
+                    + getLanguageBundle().getString("SeeLogForDetails"));
         }
 
         return false;
@@ -1520,11 +1524,16 @@ public class Main {
     }
 
     /**
-     * 获取当前的语言包。
+     * 获取当前的语言包。如果 {@link #run()} 尚未加载语言包（例如无界面模拟时），则加载设置中的语言。
      * 
      * @return 语言包资源。
      */
     public ResourceBundle getLanguageBundle() {
+        if (languageBundle == null) {
+            languageBundle = ResourceBundle.getBundle("language",
+                    Locale.forLanguageTag(properties.getProperty("Language", "en-GB")),
+                    new Utf8ResourceBundleControl(false));
+        }
         return languageBundle;
     }
 
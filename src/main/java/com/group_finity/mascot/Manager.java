@@ -2,17 +2,33 @@ package com.group_finity.mascot;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.group_finity.mascot.behavior.Behavior;
 import com.group_finity.mascot.config.Configuration;
 import com.group_finity.mascot.exception.BehaviorInstantiationException;
 import com.group_finity.mascot.exception.CantBeAliveException;
 import java.awt.Point;
+import java.awt.Rectangle;
+
+import javax.swing.SwingUtilities;
 
 /**
  *
@@ -27,33 +43,130 @@ public class Manager {
 	private static final Logger log = Logger.getLogger(Manager.class.getName());
 
 	/**
-	 * Interval timer is running.
+	 * Default interval between ticks, in milliseconds.
+	 * Can be overridden with the TickRate setting (ticks per second).
 	 */
 	public static final int TICK_INTERVAL = 40;
 
 	/**
-	 * A list of mascot.
+	 * Default number of late ticks run back to back after a stall before the rest are dropped.
+	 * Can be overridden with the MaxCatchUpTicks setting.
+	 */
+	private static final int MAX_CATCH_UP_TICKS = 3;
+
+	/**
+	 * The mascots being ticked, in the order they were added. Only changed by the tick thread.
+	 */
+	private final Set<Mascot> mascots = new LinkedHashSet<>();
+
+	/**
+	 * Additions and removals requested since the last tick, in the order they were made.
+	 * Any thread may queue one without waiting for the tick thread, which applies them all at the start of the next tick.
+	 */
+	private final Queue<Lifecycle> lifecycle = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The mascots as of the last tick, replaced rather than changed so it can be read from any thread without locking.
+	 */
+	private volatile Registry registry = Registry.EMPTY;
+
+	/**
+	 * Anchors of every mascot as of the start of the current tick, for finding the nearest target.
+	 */
+	private volatile SpatialGrid grid = SpatialGrid.EMPTY;
+
+	/**
+	 * Every mascot by where its anchor is now, kept up to date as mascots move.
+	 */
+	private final AnchorIndex anchors = new AnchorIndex(this);
+
+	/**
+	 * Set when a mascot changes image set, so that the counts are rebuilt on the next tick even if nobody was added or removed.
+	 */
+	private final AtomicBoolean registryStale = new AtomicBoolean();
+
+	/**
+	 * The mascots broadcasting each affordance, kept up to date by {@link Mascot#setAffordance(String)} and
+	 * {@link Mascot#removeAffordance(String)}. Each set is ordered by creation, so lookups keep picking the oldest mascot.
+	 */
+	private final ConcurrentMap<String, Set<Mascot>> affordances = new ConcurrentHashMap<>();
+
+	/**
+	 * The scanner that has claimed each target, so that other scanners looking for an unclaimed target pass it by.
+	 * A claim lapses unless the scanner renews it every tick.
+	 */
+	private final ConcurrentMap<Mascot, Claim> claims = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of ticks run so far, used to tell whether a claim has lapsed.
+	 */
+	private volatile long ticks;
+
+	/**
+	 * Below this many mascots the tick is always run serially, as splitting costs more than it saves.
+	 */
+	private static final int PARALLEL_THRESHOLD = 32;
+
+	/**
+	 * Whether the current thread is ticking mascots in phase one. Calls from any other thread, such as the event
+	 * dispatch thread handling a drag, are applied at once even while phase one is running.
+	 */
+	private static final ThreadLocal<Boolean> inPhaseOne = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	/**
+	 * The switch each mascot is to make in phase two, once every mascot has finished its tick.
+	 * Only one is kept per mascot, so the outcome does not depend on which worker asked first.
+	 */
+	private final ConcurrentMap<Mascot, BehaviorSwitch> deferredBehaviors = new ConcurrentHashMap<>();
+
+	/**
+	 * Frames collected on the tick thread that the event dispatch thread has not applied yet.
 	 */
-	private final List<Mascot> mascots = new ArrayList<>();
+	private final Queue<RenderFrame> pendingFrames = new ConcurrentLinkedQueue<>();
 
 	/**
-	 * The mascot will be added later.
-	 * (@Link ConcurrentModificationException) to prevent the addition of the mascot
-	 * (@link # tick ()) are each simultaneously reflecting.
+	 * Whether a {@link #commitFrames()} call is already waiting on the event dispatch thread.
 	 */
-	private final Set<Mascot> added = new LinkedHashSet<>();
+	private final AtomicBoolean commitScheduled = new AtomicBoolean();
 
 	/**
-	 * The mascot will be added later.
-	 * (@Link ConcurrentModificationException) to prevent the deletion of the mascot
-	 * (@link # tick ()) are each simultaneously reflecting.
+	 * Number of window updates handed to the renderer, and of windows left alone because nothing changed.
 	 */
-	private final Set<Mascot> removed = new LinkedHashSet<>();
+	private volatile long committedUpdates;
+
+	private volatile long skippedUpdates;
+
+	/**
+	 * Read-only view of every mascot, published only while the parallel phase is running.
+	 */
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Pool used to tick mascots in parallel, or null when the ParallelTick setting is off.
+	 */
+	private ForkJoinPool pool;
 
 	private boolean exitOnLastRemoved = true;
 
 	private Thread thread;
 
+	private volatile TickScheduler scheduler;
+
+	/**
+	 * Thread rendering interpolated frames, only used when the RenderRate setting is above the tick rate.
+	 */
+	private Thread renderThread;
+
+	private volatile TickScheduler renderScheduler;
+
+	/**
+	 * Receives the frames of each tick when they are rendered by the render thread, or null when every tick
+	 * is sent straight to the event dispatch thread.
+	 */
+	private volatile FrameInterpolator interpolator;
+
+	private final TickStatistics statistics = new TickStatistics(this);
+
 	public void setExitOnLastRemoved(boolean exitOnLastRemoved) {
 		this.exitOnLastRemoved = exitOnLastRemoved;
 	}
@@ -87,32 +200,110 @@ public class Manager {
 			return;
 		}
 
-		thread = new Thread(() -> {
+		final double tickRate = getRate("TickRate", 1000.0 / TICK_INTERVAL);
+		final TickScheduler scheduler = new TickScheduler(tickRate, getMaxCatchUp());
+		this.scheduler = scheduler;
 
-            long prev = System.nanoTime() / 1000000;
-            try {
-                for (;;) {
-                    for (;;) {
-                        final long cur = System.nanoTime() / 1000000;
-                        if (cur - prev >= TICK_INTERVAL) {
-                            if (cur > prev + TICK_INTERVAL * 2) {
-                                prev = cur;
-                            } else {
-                                prev += TICK_INTERVAL;
-                            }
-                            break;
-                        }
-                        Thread.sleep(1, 0);
-                    }
-
-                    tick();
-                }
-            } catch (final InterruptedException ignored) {
-            }
-        });
+		final double renderRate = getRate("RenderRate", 0);
+		if (renderRate > tickRate) {
+			final TickScheduler renderScheduler = new TickScheduler(renderRate);
+			this.renderScheduler = renderScheduler;
+			interpolator = new FrameInterpolator(scheduler.getPeriod());
+			renderThread = new Thread(() -> {
+				try {
+					renderScheduler.run(this::render);
+				} catch (final InterruptedException ignored) {
+				}
+			});
+			renderThread.setDaemon(true);
+			renderThread.start();
+		}
+
+		if (pool == null && Boolean.parseBoolean(Main.getInstance().getProperties().getProperty("ParallelTick", "false"))) {
+			pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+
+		thread = new Thread(() -> {
+			try {
+				scheduler.run(this::tick);
+			} catch (final InterruptedException ignored) {
+			}
+		});
 		thread.setDaemon(false);
 
 		thread.start();
+
+		statistics.register();
+	}
+
+	/**
+	 * @return the number of window updates sent to the event dispatch thread so far
+	 */
+	public long getCommittedUpdateCount() {
+		return committedUpdates;
+	}
+
+	/**
+	 * @return the number of times a window was skipped because its position, image and visibility were unchanged
+	 */
+	public long getSkippedUpdateCount() {
+		return skippedUpdates;
+	}
+
+	/**
+	 * Reads a rate per second from the settings, such as TickRate or RenderRate.
+	 */
+	private static double getRate(final String key, final double defaultRate) {
+		try {
+			final double rate = Double.parseDouble(Main.getInstance().getProperties()
+					.getProperty(key, Double.toString(defaultRate)));
+			if (rate > 0 || rate == defaultRate) {
+				return rate;
+			}
+			log.log(Level.WARNING, "Ignoring non-positive {0} ({1})", new Object[] { key, rate });
+		} catch (final NumberFormatException e) {
+			log.log(Level.WARNING, "Ignoring invalid " + key, e);
+		}
+		return defaultRate;
+	}
+
+	private static int getMaxCatchUp() {
+		try {
+			final int ticks = Integer.parseInt(Main.getInstance().getProperties()
+					.getProperty("MaxCatchUpTicks", Integer.toString(MAX_CATCH_UP_TICKS)));
+			if (ticks >= 1) {
+				return ticks;
+			}
+			log.log(Level.WARNING, "Ignoring MaxCatchUpTicks below 1 ({0})", ticks);
+		} catch (final NumberFormatException e) {
+			log.log(Level.WARNING, "Ignoring invalid MaxCatchUpTicks", e);
+		}
+		return MAX_CATCH_UP_TICKS;
+	}
+
+	/**
+	 * Returns the scheduler driving the tick thread, for its timing counters.
+	 *
+	 * @return the current scheduler, or null if the manager has never been started
+	 */
+	public TickScheduler getScheduler() {
+		return scheduler;
+	}
+
+	/**
+	 * Returns the scheduler driving the render thread, for its timing counters.
+	 *
+	 * @return the current render scheduler, or null if frames are rendered at the tick rate
+	 */
+	public TickScheduler getRenderScheduler() {
+		return renderScheduler;
+	}
+
+	/**
+	 * Returns the per-phase timings of {@link #tick()}, which are only collected while sampling is enabled.
+	 */
+	public TickStatistics getStatistics() {
+		return statistics;
 	}
 
 	public void stop() {
@@ -124,63 +315,330 @@ public class Manager {
 			thread.join();
 		} catch (InterruptedException ignored) {
 		}
+		if (renderThread != null) {
+			renderThread.interrupt();
+			renderThread = null;
+			renderScheduler = null;
+			interpolator = null;
+		}
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+		statistics.unregister();
 	}
 
-	private void tick() {
+	/**
+	 * Advances every mascot by one frame.
+	 * <p>
+	 * Normally called by the thread started in {@link #start()}. It is public so that a simulation
+	 * can drive a manager that has not been started as fast as it likes; it must not be called while
+	 * the manager is running.
+	 */
+	public void tick() {
+		final boolean sampled = statistics.sample();
+		long time = sampled ? System.nanoTime() : 0;
+
 		// Update the first environmental information
-		NativeFactory.getInstance().getEnvironment().tick();
+		NativeFactory.getInstance().getEnvironment().advance();
+		if (sampled) {
+			time = statistics.record(TickStatistics.Phase.ENVIRONMENT, time);
+		}
 
+		// Only the tray's commands that change every mascot at once wait on this; adding and removing never do
 		synchronized (this.getMascots()) {
 
-			// Add the mascot if it should be added
-			for (final Mascot mascot : this.getAdded()) {
-				this.getMascots().add(mascot);
-			}
-			this.getAdded().clear();
-
-			// Remove the mascot if it should be removed
-			for (final Mascot mascot : this.getRemoved()) {
-				this.getMascots().remove(mascot);
+			// Apply the additions and removals queued since the last tick
+			ticks++;
+			final Mascot[] mascots = reconcile();
+			grid = mascots.length == 0 ? SpatialGrid.EMPTY : new SpatialGrid(mascots);
+			if (sampled) {
+				time = statistics.record(TickStatistics.Phase.RECONCILE, time);
 			}
-			this.getRemoved().clear();
 
 			// Advance mascot's time
-			for (final Mascot mascot : this.getMascots()) {
-				mascot.tick();
+			final TickStatistics timings = sampled ? statistics : null;
+			if (pool != null && mascots.length >= PARALLEL_THRESHOLD) {
+				tickParallel(mascots, timings);
+			} else {
+				for (final Mascot mascot : mascots) {
+					tick(mascot, timings);
+				}
+			}
+			if (sampled) {
+				time = statistics.record(TickStatistics.Phase.TICK, time);
 			}
 
-			// Advance mascot's time
-			for (final Mascot mascot : this.getMascots()) {
-				mascot.apply();
+			// Collect the windows' new state and hand it to the event dispatch thread in one go
+			final RenderFrame frame = new RenderFrame();
+			for (final Mascot mascot : mascots) {
+				if (sampled) {
+					final long start = System.nanoTime();
+					mascot.apply(frame);
+					statistics.record(TickStatistics.Phase.APPLY, mascot.getImageSet(), start);
+				} else {
+					mascot.apply(frame);
+				}
+			}
+			if (sampled) {
+				statistics.record(TickStatistics.Phase.APPLY, time);
+			}
+			committedUpdates += frame.getCommitted();
+			skippedUpdates += frame.getSkipped();
+			if (!frame.isEmpty()) {
+				final FrameInterpolator interpolator = this.interpolator;
+				if (interpolator != null) {
+					interpolator.submit(frame);
+				} else {
+					commit(frame);
+				}
 			}
 		}
 
 		if (isExitOnLastRemoved()) {
-			if (this.getMascots().isEmpty()) {
+			if (registry.mascots.length == 0) {
 				Main.getInstance().exit();
 			}
 		}
 	}
 
-	public void add(final Mascot mascot) {
-		synchronized (this.getAdded()) {
-			this.getAdded().add(mascot);
-			this.getRemoved().remove(mascot);
+	/**
+	 * Drains the lifecycle queue into {@link #mascots}, publishing a new copy if anything changed.
+	 *
+	 * @return the mascots to tick
+	 */
+	private Mascot[] reconcile() {
+		boolean changed = registryStale.getAndSet(false);
+		Lifecycle command;
+		while ((command = lifecycle.poll()) != null) {
+			final Mascot mascot = command.mascot();
+			if (command.add()) {
+				if (this.getMascots().add(mascot)) {
+					changed = true;
+					synchronized (mascot) {
+						anchors.add(mascot, mascot.getAnchor());
+					}
+					// Affordances set before the mascot was added were not reported
+					for (final String affordance : mascot.getAffordances()) {
+						affordanceAdded(mascot, affordance);
+					}
+				}
+			} else if (this.getMascots().remove(mascot)) {
+				changed = true;
+				synchronized (mascot) {
+					anchors.remove(mascot, mascot.getAnchor());
+				}
+				for (final Set<Mascot> broadcasters : affordances.values()) {
+					broadcasters.remove(mascot);
+				}
+				claims.remove(mascot);
+			}
+		}
+		if (changed) {
+			registry = new Registry(this.getMascots().toArray(new Mascot[0]));
+		}
+		return registry.mascots;
+	}
+
+	/**
+	 * Ticks every mascot across the pool in two phases.
+	 * <p>
+	 * In phase one each mascot advances its own behavior and action, moving its own anchor and image.
+	 * Queries about other mascots are answered from a snapshot taken before the phase started, and
+	 * behavior switches, along with the responses scanners ask of their targets, are held rather than
+	 * applied. In phase two they are applied on this thread in the order of the mascots: first the
+	 * switches mascots made themselves, then the responses, which are built only now so that their
+	 * conditions see the target at rest. A response replaces the target's own switch, as it would
+	 * have come after it in the serial tick.
+	 */
+	private void tickParallel(final Mascot[] mascots, final TickStatistics timings) {
+		snapshot = new Snapshot(mascots);
+		try {
+			pool.invoke(new TickTask(mascots, 0, mascots.length, timings));
+		} finally {
+			snapshot = null;
+		}
+
+		if (deferredBehaviors.isEmpty()) {
+			return;
 		}
+		final BehaviorSwitch[] changes = new BehaviorSwitch[mascots.length];
+		for (int i = 0; i < mascots.length; i++) {
+			changes[i] = deferredBehaviors.remove(mascots[i]);
+		}
+		// Anything else was asked of a mascot that is not being ticked, which it could not have been in the serial tick
+		deferredBehaviors.clear();
+
+		for (int i = 0; i < mascots.length; i++) {
+			final BehaviorSwitch change = changes[i];
+			if (change != null && change.own() != null && change.response() == null) {
+				apply(mascots[i], change, false);
+			}
+		}
+		for (int i = 0; i < mascots.length; i++) {
+			final BehaviorSwitch change = changes[i];
+			if (change != null && change.scanner() != null) {
+				apply(mascots[i], change, true);
+			}
+		}
+	}
+
+	/**
+	 * Applies a mascot's own switch, or the response a scanner asked of it, in phase two.
+	 */
+	private static void apply(final Mascot mascot, final BehaviorSwitch change, final boolean response) {
+		try {
+			if (response) {
+				mascot.respondTo(change.scanner(), change.response(), change.lookAway());
+			} else {
+				mascot.setBehavior(change.own());
+			}
+		} catch (final NullPointerException | BehaviorInstantiationException e) {
+			log.log(Level.SEVERE, "Fatal Exception", e);
+			Main.showError(Main.getInstance().getLanguageBundle().getString("FailedSetBehaviourErrorMessage")
+					+ "\n" + e.getMessage() + "\n"
+					+ Main.getInstance().getLanguageBundle().getString("SeeLogForDetails"));
+		} catch (final CantBeAliveException e) {
+			log.log(Level.SEVERE, "Fatal Error", e);
+			Main.showError(Main.getInstance().getLanguageBundle().getString("FailedSetBehaviourErrorMessage")
+					+ "\n" + e.getMessage() + "\n"
+					+ Main.getInstance().getLanguageBundle().getString("SeeLogForDetails"));
+			mascot.dispose();
+		}
+	}
+
+	/**
+	 * Ticks one mascot, timing it against its image set if the tick is being sampled.
+	 *
+	 * @param timings where to record the time taken, or null if this tick is not sampled
+	 */
+	private static void tick(final Mascot mascot, final TickStatistics timings) {
+		if (timings == null) {
+			mascot.tick();
+			return;
+		}
+		final long start = System.nanoTime();
+		mascot.tick();
+		timings.record(TickStatistics.Phase.TICK, mascot.getImageSet(), start);
+	}
+
+	/**
+	 * Holds a behavior switch for phase two if it was requested by a mascot ticking in the parallel phase. Only the
+	 * last switch a mascot makes in a tick is kept.
+	 *
+	 * @return true if the switch was held and must not be applied by the caller
+	 */
+	boolean deferBehavior(final Mascot mascot, final Behavior behavior) {
+		if (snapshot == null || !inPhaseOne.get()) {
+			return false;
+		}
+		deferredBehaviors.compute(mascot, (key, change) -> change == null
+				? new BehaviorSwitch(behavior, null, null, false)
+				: new BehaviorSwitch(behavior, change.scanner(), change.response(), change.lookAway()));
+		return true;
+	}
+
+	/**
+	 * Holds a scanner's request of its target for phase two if it was made by a mascot ticking in the parallel
+	 * phase. Should two scanners reach the same target, the one created last wins, as it would usually have been
+	 * ticked last in the serial tick.
+	 *
+	 * @return true if the response was held and must not be made by the caller
+	 */
+	boolean deferResponse(final Mascot mascot, final Mascot scanner, final String behavior, final boolean lookAway) {
+		if (snapshot == null || !inPhaseOne.get()) {
+			return false;
+		}
+		deferredBehaviors.compute(mascot, (key, change) -> {
+			if (change == null) {
+				return new BehaviorSwitch(null, scanner, behavior, lookAway);
+			}
+			if (change.scanner() != null && change.scanner().getId() > scanner.getId()) {
+				return change;
+			}
+			return new BehaviorSwitch(change.own(), scanner, behavior, lookAway);
+		});
+		return true;
+	}
+
+	/**
+	 * Renders the windows part way to their latest state. Runs on the render thread.
+	 */
+	private void render() {
+		final FrameInterpolator interpolator = this.interpolator;
+		if (interpolator == null) {
+			return;
+		}
+		final RenderFrame frame = interpolator.next(System.nanoTime());
+		if (frame != null && !frame.isEmpty()) {
+			commit(frame);
+		}
+	}
+
+	/**
+	 * Hands a frame to the event dispatch thread, scheduling a commit unless one is already waiting.
+	 */
+	private void commit(final RenderFrame frame) {
+		pendingFrames.add(frame);
+		if (commitScheduled.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(this::commitFrames);
+		}
+	}
+
+	/**
+	 * Applies every frame queued since the last commit. Runs on the event dispatch thread.
+	 */
+	private void commitFrames() {
+		commitScheduled.set(false);
+
+		final List<RenderFrame> frames = new ArrayList<>(1);
+		RenderFrame frame;
+		while ((frame = pendingFrames.poll()) != null) {
+			frames.add(frame);
+		}
+		if (!frames.isEmpty()) {
+			RenderFrame.apply(frames);
+		}
+	}
+
+	/**
+	 * Queues a mascot to be ticked from the start of the next tick. Never waits for the tick thread.
+	 */
+	public void add(final Mascot mascot) {
+		lifecycle.add(new Lifecycle(mascot, true));
 		mascot.setManager(this);
 	}
 
-	public void remove(final Mascot mascot) {
-		synchronized (this.getAdded()) {
-			this.getAdded().remove(mascot);
-			this.getRemoved().add(mascot);
+	void affordanceAdded(final Mascot mascot, final String affordance) {
+		affordances.computeIfAbsent(affordance, key -> new ConcurrentSkipListSet<>(Comparator.comparingInt(Mascot::getId)))
+				.add(mascot);
+	}
+
+	void affordanceRemoved(final Mascot mascot, final String affordance) {
+		final Set<Mascot> broadcasters = affordances.get(affordance);
+		if (broadcasters != null) {
+			broadcasters.remove(mascot);
 		}
+	}
+
+	/**
+	 * Called when a mascot of this manager has been transformed into another image set.
+	 */
+	void imageSetChanged() {
+		registryStale.set(true);
+	}
+
+	/**
+	 * Queues a mascot to stop being ticked from the start of the next tick. Never waits for the tick thread.
+	 */
+	public void remove(final Mascot mascot) {
+		lifecycle.add(new Lifecycle(mascot, false));
 		mascot.setManager(null);
 	}
 
 	public void setBehaviorAll(final String name) {
 		synchronized (this.getMascots()) {
-			for (final Mascot mascot : this.getMascots()) {
+			for (final Mascot mascot : registry.mascots) {
 				try {
 					Configuration configuration = Main.getInstance().getConfiguration(mascot.getImageSet());
 					mascot.setBehavior(configuration.buildBehavior(configuration.getSchema().getString(name), mascot));
@@ -203,7 +661,7 @@ public class Manager {
 
 	public void setBehaviorAll(final Configuration configuration, final String name, String imageSet) {
 		synchronized (this.getMascots()) {
-			for (final Mascot mascot : this.getMascots()) {
+			for (final Mascot mascot : registry.mascots) {
 				try {
 					if (mascot.getImageSet().equals(imageSet)) {
 						mascot.setBehavior(
@@ -229,7 +687,7 @@ public class Manager {
 	public void remainOne() {
 		synchronized (this.getMascots()) {
 			// Keep first mascot, dispose the rest
-			getMascots().stream()
+			Arrays.stream(registry.mascots)
 					.skip(1)
 					.forEach(Mascot::dispose);
 		}
@@ -238,7 +696,7 @@ public class Manager {
 	public void remainOne(Mascot mascot) {
 		synchronized (this.getMascots()) {
 			// Dispose all mascots except the specified one
-			getMascots().stream()
+			Arrays.stream(registry.mascots)
 					.filter(m -> !m.equals(mascot))
 					.forEach(Mascot::dispose);
 		}
@@ -247,7 +705,7 @@ public class Manager {
 	public void remainOne(String imageSet) {
 		synchronized (this.getMascots()) {
 			// Find all mascots with matching imageSet, keep first one and dispose rest
-			List<Mascot> matching = getMascots().stream()
+			List<Mascot> matching = Arrays.stream(registry.mascots)
 					.filter(m -> m.getImageSet().equals(imageSet))
 					.toList();
 
@@ -260,14 +718,12 @@ public class Manager {
 
 	public void remainNone(String imageSet) {
 		synchronized (this.getMascots()) {
-			// Use removeIf for more efficient removal with Java 8
-			this.getMascots().removeIf(mascot -> {
+			// Disposing queues the removal for the next tick
+			for (final Mascot mascot : registry.mascots) {
 				if (mascot.getImageSet().equals(imageSet)) {
 					mascot.dispose();
-					return true;
 				}
-				return false;
-			});
+			}
 		}
 	}
 
@@ -275,14 +731,15 @@ public class Manager {
 		boolean isPaused = true;
 		
 		synchronized (this.getMascots()) {
-			for (final Mascot mascot : this.getMascots()) {
+			final Mascot[] mascots = registry.mascots;
+			for (final Mascot mascot : mascots) {
 				if (!mascot.isPaused()) {
 					isPaused = false;
 					break;
 				}
 			}
 			
-			for (final Mascot mascot : this.getMascots()) {
+			for (final Mascot mascot : mascots) {
 				mascot.setPaused(!isPaused);
 			}
 		}
@@ -291,12 +748,10 @@ public class Manager {
 	public boolean isPaused() {
 		boolean isPaused = true;
 		
-		synchronized (this.getMascots()) {
-			for (final Mascot mascot : this.getMascots()) {
-				if (!mascot.isPaused()) {
-					isPaused = false;
-					break;
-				}
+		for (final Mascot mascot : registry.mascots) {
+			if (!mascot.isPaused()) {
+				isPaused = false;
+				break;
 			}
 		}
 		
@@ -307,63 +762,252 @@ public class Manager {
 		return getCount(null);
 	}
 
+	/**
+	 * Returns the number of mascots of an image set, or of every mascot if it is null, as of the start of the current tick.
+	 */
 	public int getCount(String imageSet) {
-		synchronized (getMascots()) {
-			if (imageSet == null) {
-				return getMascots().size();
-			} else {
-				// Use Stream API for counting
-				return (int) getMascots().stream()
-						.filter(mascot -> mascot.getImageSet().equals(imageSet))
-						.count();
-			}
+		final Registry registry = this.registry;
+		if (imageSet == null) {
+			return registry.mascots.length;
 		}
+		return registry.counts.getOrDefault(imageSet, 0);
 	}
 
-	private List<Mascot> getMascots() {
+	private Set<Mascot> getMascots() {
 		return this.mascots;
 	}
 
-	private Set<Mascot> getAdded() {
-		return this.added;
-	}
-
-	private Set<Mascot> getRemoved() {
-		return this.removed;
-	}
-
 	/**
 	 * Returns a Mascot with the given affordance.
 	 * 
 	 * @return A WeakReference to a mascot with the required affordance, or null
 	 */
 	public WeakReference<Mascot> getMascotWithAffordance(String affordance) {
-		synchronized (this.getMascots()) {
-			// Use Stream API to find first matching mascot
-			Optional<Mascot> found = getMascots().stream()
-					.filter(mascot -> mascot.getAffordances().contains(affordance))
-					.findFirst();
+		final Snapshot snapshot = this.snapshot;
+		if (snapshot != null) {
+			return snapshot.getMascotWithAffordance(affordance);
+		}
+
+		final Set<Mascot> broadcasters = affordances.get(affordance);
+		if (broadcasters == null) {
+			return null;
+		}
+		final Iterator<Mascot> first = broadcasters.iterator();
+		return first.hasNext() ? new WeakReference<>(first.next()) : null;
+	}
 
-			return found.map(WeakReference::new).orElse(null);
+	/**
+	 * Returns the mascot with an affordance whose anchor was closest to the scanner's at the start of the current tick.
+	 *
+	 * @param unclaimed whether to pass over targets that another scanner has claimed with {@link #claim(Mascot, Mascot)}
+	 * @return A WeakReference to the mascot, or null if there is none
+	 */
+	public WeakReference<Mascot> getNearestMascotWithAffordance(final Mascot scanner, final String affordance,
+			final boolean unclaimed) {
+		final SpatialGrid grid = this.grid;
+		final Snapshot snapshot = this.snapshot;
+		final Set<Mascot> broadcasters = affordances.get(affordance);
+		if (snapshot == null && broadcasters == null) {
+			return null;
 		}
+
+		final long ticks = this.ticks;
+		final int index = grid.nearest(scanner.getAnchor(), i -> {
+			final Mascot mascot = grid.get(i);
+			if (mascot == scanner) {
+				return false;
+			}
+			if (snapshot != null ? !snapshot.hasAffordance(i, affordance) : !broadcasters.contains(mascot)) {
+				return false;
+			}
+			return !unclaimed || !isClaimed(mascot, scanner, ticks);
+		});
+		return index < 0 ? null : new WeakReference<>(grid.get(index));
+	}
+
+	/**
+	 * Claims a target for a scanner until the end of the next tick, so that other scanners asking for an unclaimed
+	 * target pass it by. Scanners renew their claim every tick for as long as they are heading for the target.
+	 *
+	 * @return false if another scanner holds the claim
+	 */
+	public boolean claim(final Mascot scanner, final Mascot target) {
+		final long ticks = this.ticks;
+		return claims.compute(target, (key, claim) -> claim == null || claim.scanner() == scanner
+				|| !isLive(claim, ticks) ? new Claim(scanner, ticks) : claim).scanner() == scanner;
+	}
+
+	private boolean isClaimed(final Mascot target, final Mascot scanner, final long ticks) {
+		final Claim claim = claims.get(target);
+		return claim != null && claim.scanner() != scanner && isLive(claim, ticks);
 	}
 
+	private boolean isLive(final Claim claim, final long ticks) {
+		return claim.tick() >= ticks - 1 && claim.scanner().getManager() == this;
+	}
+
+	/**
+	 * Checks whether more than one mascot is anchored at a point.
+	 */
 	public boolean hasOverlappingMascotsAtPoint(Point anchor) {
-		synchronized (this.getMascots()) {
-			// Use Stream API to count mascots at the given anchor point
-			long count = getMascots().stream()
-					.filter(mascot -> mascot.getAnchor().equals(anchor))
-					.count();
+		return anchors.countAt(anchor, 2) > 1;
+	}
 
-			return count > 1;
-		}
+	/**
+	 * Returns the mascots anchored exactly at a point.
+	 */
+	public List<Mascot> getMascotsAt(final Point point) {
+		return anchors.at(point);
+	}
+
+	/**
+	 * Returns the mascots whose anchor is within a distance of a point.
+	 */
+	public List<Mascot> getMascotsWithin(final Point centre, final int radius) {
+		return anchors.within(centre, radius);
+	}
+
+	/**
+	 * Returns the mascots whose anchor is inside an area.
+	 */
+	public List<Mascot> getMascotsIn(final Rectangle area) {
+		return anchors.in(area);
+	}
+
+	/**
+	 * Follows a mascot's anchor in the index. Called by the mascot while holding its own lock.
+	 */
+	void anchorMoved(final Mascot mascot, final Point from, final Point to) {
+		anchors.move(mascot, from, to);
 	}
 
 	public void disposeAll() {
 		synchronized (this.getMascots()) {
-			// Use forEach for cleaner disposal
-			getMascots().forEach(Mascot::dispose);
-			getMascots().clear();
+			// Disposing queues the removals for the next tick
+			Arrays.stream(registry.mascots).forEach(Mascot::dispose);
+		}
+	}
+
+	/**
+	 * A queued addition or removal of a mascot.
+	 */
+	private record Lifecycle(Mascot mascot, boolean add) {
+	}
+
+	private record Claim(Mascot scanner, long tick) {
+	}
+
+	/**
+	 * What a mascot is to do in phase two.
+	 *
+	 * @param own the last switch the mascot made itself, or null
+	 * @param scanner the scanner that reached the mascot, or null
+	 * @param response the name of the behavior the scanner asked for, or null to keep the mascot's own
+	 * @param lookAway whether the scanner asked the mascot to look the other way from it
+	 */
+	private record BehaviorSwitch(Behavior own, Mascot scanner, String response, boolean lookAway) {
+	}
+
+	/**
+	 * Every mascot being ticked, with the number of mascots of each image set worked out once when it is built.
+	 */
+	private static final class Registry {
+
+		static final Registry EMPTY = new Registry(new Mascot[0]);
+
+		final Mascot[] mascots;
+
+		final Map<String, Integer> counts;
+
+		Registry(final Mascot[] mascots) {
+			this.mascots = mascots;
+			final Map<String, Integer> counts = new HashMap<>();
+			for (final Mascot mascot : mascots) {
+				counts.merge(mascot.getImageSet(), 1, Integer::sum);
+			}
+			this.counts = Map.copyOf(counts);
+		}
+	}
+
+	/**
+	 * Affordances of every mascot as they were before the parallel phase. Positions come from {@link #grid},
+	 * which is already fixed for the whole tick.
+	 */
+	private static final class Snapshot {
+
+		private final Mascot[] mascots;
+
+		private final String[][] affordances;
+
+		Snapshot(final Mascot[] mascots) {
+			this.mascots = mascots;
+			this.affordances = new String[mascots.length][];
+			for (int i = 0; i < mascots.length; i++) {
+				affordances[i] = mascots[i].getAffordances().toArray(new String[0]);
+			}
+		}
+
+		WeakReference<Mascot> getMascotWithAffordance(final String affordance) {
+			for (int i = 0; i < mascots.length; i++) {
+				for (final String candidate : affordances[i]) {
+					if (candidate.equals(affordance)) {
+						return new WeakReference<>(mascots[i]);
+					}
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @param index the position of the mascot in the array the snapshot was taken of
+		 */
+		boolean hasAffordance(final int index, final String affordance) {
+			for (final String candidate : affordances[index]) {
+				if (candidate.equals(affordance)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Splits a range of mascots in half until it is small enough to tick directly.
+	 */
+	private static final class TickTask extends RecursiveAction {
+
+		private static final int LEAF_SIZE = 8;
+
+		private final Mascot[] mascots;
+
+		private final int from;
+
+		private final int to;
+
+		private final TickStatistics timings;
+
+		TickTask(final Mascot[] mascots, final int from, final int to, final TickStatistics timings) {
+			this.mascots = mascots;
+			this.from = from;
+			this.to = to;
+			this.timings = timings;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= LEAF_SIZE) {
+				inPhaseOne.set(Boolean.TRUE);
+				try {
+					for (int i = from; i < to; i++) {
+						Manager.tick(mascots[i], timings);
+					}
+				} finally {
+					inPhaseOne.set(Boolean.FALSE);
+				}
+			} else {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new TickTask(mascots, from, middle, timings), new TickTask(mascots, middle, to, timings));
+			}
 		}
 	}
 }
@@ -12,7 +12,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JMenuItem;
@@ -26,6 +29,7 @@ import javax.sound.sampled.Clip;
 import com.group_finity.mascot.behavior.Behavior;
 import com.group_finity.mascot.environment.Area;
 import com.group_finity.mascot.environment.MascotEnvironment;
+import com.group_finity.mascot.exception.BehaviorInstantiationException;
 import com.group_finity.mascot.exception.CantBeAliveException;
 import com.group_finity.mascot.hotspot.Hotspot;
 import com.group_finity.mascot.image.MascotImage;
@@ -71,13 +75,14 @@ public class Mascot {
     /**
      * Managers are managing the mascot.
      */
-    private Manager manager = null;
+    private volatile Manager manager = null;
 
     /**
      * Mascot ground coordinates.
      * Or feet, for example, when part of the hand is hanging.
+     * Read by other mascots, possibly from other threads, to see who is standing where.
      */
-    private Point anchor = new Point(0, 0);
+    private volatile Point anchor = new Point(0, 0);
 
     /**
      * Image to display.
@@ -105,8 +110,29 @@ public class Mascot {
      */
     private boolean animating = true;
 
+    private volatile boolean disposed;
+
     private boolean paused = false;
 
+    /**
+     * Window state last handed to the renderer, used to skip windows that have not changed.
+     */
+    private Rectangle renderedBounds = null;
+
+    private MascotImage renderedImage = null;
+
+    private boolean renderedVisible = false;
+
+    /**
+     * Anchor at the time of the last window update, used to interpolate movement between ticks.
+     */
+    private Point renderedAnchor = null;
+
+    /**
+     * Moves further than this in a single tick are treated as jumps and not interpolated.
+     */
+    private static final int MAX_INTERPOLATED_MOTION = 256;
+
     /**
      * Set by behaviours when the shimeji is being dragged by the mouse cursor,
      * as opposed to hotspots or the like.
@@ -119,7 +145,10 @@ public class Mascot {
 
     protected DebugWindow debugWindow = null;
 
-    private final ArrayList<String> affordances = new ArrayList<>(5);
+    /**
+     * Written by this mascot's own tick but read by others scanning for a target, possibly from other threads.
+     */
+    private final Set<String> affordances = new CopyOnWriteArraySet<>();
 
     private final ArrayList<Hotspot> hotspots = new ArrayList<>(5);
 
@@ -185,6 +214,13 @@ public class Mascot {
         return "mascot" + id;
     }
 
+    /**
+     * 返回桌宠的序号，按创建顺序递增
+     */
+    int getId() {
+        return id;
+    }
+
     /**
      * 检查当前操作系统是否为 macOS
      */
@@ -292,6 +328,9 @@ public class Mascot {
         debugMenu.addActionListener(event -> {
             if (debugWindow == null) {
                 debugWindow = new DebugWindow();
+                if (manager != null) {
+                    debugWindow.setStatistics(manager.getStatistics());
+                }
             }
             debugWindow.setVisible(true);
         });
@@ -419,27 +458,41 @@ public class Mascot {
         }
     }
 
-    public void apply() {
+    /**
+     * Records the window state for this tick in the frame, to be applied on the event dispatch thread.
+     */
+    void apply(final RenderFrame frame) {
         if (isAnimating()) {
             // Make sure there's an image
             if (getImage() != null) {
-                // Set the window region
-                getWindow().asComponent().setBounds(getBounds());
-
-                // Set Images
-                getWindow().setImage(getImage().image());
-
-                // Display
-                if (!getWindow().asComponent().isVisible()) {
-                    getWindow().asComponent().setVisible(true);
+                final Rectangle bounds = getBounds();
+                final boolean positionChanged = !bounds.equals(renderedBounds);
+                final boolean sizeChanged = renderedBounds == null || !bounds.getSize().equals(renderedBounds.getSize());
+                final boolean imageChanged = renderedImage == null || getImage().image() != renderedImage.image();
+                final boolean visibilityChanged = !renderedVisible;
+
+                if (positionChanged || imageChanged || visibilityChanged) {
+                    Point motion = null;
+                    if (positionChanged && renderedVisible && renderedAnchor != null) {
+                        motion = new Point(anchor.x - renderedAnchor.x, anchor.y - renderedAnchor.y);
+                        if (Math.abs(motion.x) > MAX_INTERPOLATED_MOTION || Math.abs(motion.y) > MAX_INTERPOLATED_MOTION) {
+                            motion = null;
+                        }
+                    }
+                    frame.show(this, positionChanged ? bounds : null, imageChanged ? getImage().image() : null,
+                            imageChanged || sizeChanged || visibilityChanged, motion);
+                    renderedBounds = bounds;
+                    renderedImage = getImage();
+                    renderedVisible = true;
+                    renderedAnchor = new Point(anchor);
+                } else {
+                    frame.skip();
                 }
-
-                // Redraw
-                getWindow().updateImage();
+            } else if (renderedVisible) {
+                frame.hide(this);
+                renderedVisible = false;
             } else {
-                if (getWindow().asComponent().isVisible()) {
-                    getWindow().asComponent().setVisible(false);
-                }
+                frame.skip();
             }
 
             // play sound if requested
@@ -465,8 +518,11 @@ public class Mascot {
         }
 
         animating = false;
-        getWindow().dispose();
-        affordances.clear();
+        // Frames already made for this window may still be applied after it is disposed, so they skip
+        // it from now on rather than showing it again
+        disposed = true;
+        SwingUtilities.invokeLater(getWindow()::dispose);
+        clearAffordances();
         if (getManager() != null) {
             getManager().remove(Mascot.this);
         }
@@ -503,7 +559,17 @@ public class Mascot {
     }
 
     public void setAnchor(Point anchor) {
-        this.anchor = anchor;
+        final Manager manager = this.manager;
+        if (manager == null) {
+            this.anchor = anchor;
+            return;
+        }
+        // the manager's index must follow every move in order, however many threads move this mascot
+        synchronized (this) {
+            final Point previous = this.anchor;
+            this.anchor = anchor;
+            manager.anchorMoved(this, previous, anchor);
+        }
     }
 
     public MascotImage getImage() {
@@ -549,10 +615,35 @@ public class Mascot {
     }
 
     public void setBehavior(final Behavior behavior) throws CantBeAliveException {
+        // while mascots tick in parallel, switches are applied by the manager once everyone is done
+        if (manager != null && manager.deferBehavior(this, behavior)) {
+            return;
+        }
         this.behavior = behavior;
         this.behavior.init(this);
     }
 
+    /**
+     * Responds to a scanner that has reached this mascot, switching to the behavior it asks for and then turning to
+     * look the other way from it. While mascots tick in parallel, the behavior is only built and switched to once
+     * every mascot has finished, and takes the place of any switch this mascot made itself in the same tick.
+     *
+     * @param behavior the name of the behavior to switch to, or null to keep the current one
+     * @param lookAway whether to look the other way from the scanner
+     */
+    public void respondTo(final Mascot scanner, final String behavior, final boolean lookAway)
+            throws BehaviorInstantiationException, CantBeAliveException {
+        if (manager != null && manager.deferResponse(this, scanner, behavior, lookAway)) {
+            return;
+        }
+        if (behavior != null) {
+            setBehavior(Main.getInstance().getConfiguration(getImageSet()).buildBehavior(behavior, this));
+        }
+        if (lookAway) {
+            setLookRight(!scanner.isLookRight());
+        }
+    }
+
     public int getCount() {
         return manager != null ? getManager().getCount(imageSet) : 0;
     }
@@ -565,11 +656,18 @@ public class Mascot {
         return animating && !paused;
     }
 
+    /**
+     * Whether the mascot has been disposed, after which its window must not be touched again.
+     */
+    boolean isDisposed() {
+        return disposed;
+    }
+
     private void setAnimating(final boolean animating) {
         this.animating = animating;
     }
 
-    private TranslucentWindow getWindow() {
+    TranslucentWindow getWindow() {
         return this.window;
     }
 
@@ -577,8 +675,24 @@ public class Mascot {
         return environment;
     }
 
-    public ArrayList<String> getAffordances() {
-        return affordances;
+    /**
+     * 返回桌宠当前的affordances，按添加顺序排列且不含重复项。
+     * <p>
+     * 此前返回的是可修改的 {@code ArrayList}；现在返回只读视图，修改它会抛出 {@link UnsupportedOperationException}。
+     * 管理器按affordance为桌宠建立索引，因此修改必须通过 {@link #setAffordance(String)}、
+     * {@link #removeAffordance(String)}、{@link #replaceAffordances(String)} 或 {@link #clearAffordances()} 进行。
+     * 只需检查单个affordance时请使用 {@link #hasAffordance(String)}。
+     */
+    public Set<String> getAffordances() {
+        return Collections.unmodifiableSet(affordances);
+    }
+
+    /**
+     * 检查桌宠是否具有指定的affordance
+     * @param affordance 要检查的affordance字符串
+     */
+    public boolean hasAffordance(String affordance) {
+        return affordances.contains(affordance);
     }
 
     /**
@@ -587,8 +701,8 @@ public class Mascot {
      */
     public void setAffordance(String affordance) {
         if (affordance != null && !affordance.isEmpty()) {
-            if (!affordances.contains(affordance)) {
-                affordances.add(affordance);
+            if (affordances.add(affordance) && manager != null) {
+                manager.affordanceAdded(this, affordance);
             }
         }
     }
@@ -598,14 +712,31 @@ public class Mascot {
      * @param affordance 要移除的affordance字符串
      */
     public void removeAffordance(String affordance) {
-        affordances.remove(affordance);
+        if (affordances.remove(affordance) && manager != null) {
+            manager.affordanceRemoved(this, affordance);
+        }
+    }
+
+    /**
+     * 将affordances替换为指定的affordance，只通知实际发生的变化
+     * @param affordance 要保留的affordance字符串，为null或空时清除所有affordances
+     */
+    public void replaceAffordances(String affordance) {
+        for (final String current : affordances) {
+            if (!current.equals(affordance)) {
+                removeAffordance(current);
+            }
+        }
+        setAffordance(affordance);
     }
 
     /**
      * 清除所有affordances
      */
     public void clearAffordances() {
-        affordances.clear();
+        for (final String affordance : affordances) {
+            removeAffordance(affordance);
+        }
     }
 
     public ArrayList<Hotspot> getHotspots() {
@@ -613,7 +744,11 @@ public class Mascot {
     }
 
     public void setImageSet(final String set) {
+        final boolean changed = !set.equals(imageSet);
         imageSet = set;
+        if (changed && manager != null) {
+            manager.imageSetChanged();
+        }
     }
 
     public String getImageSet() {
@@ -61,6 +61,9 @@ public abstract class NativeFactory {
             }
         } else if (environment.equals("virtual")) {
             instance = new com.group_finity.mascot.virtual.NativeFactoryImpl();
+        } else if (environment.equals("headless")) {
+            // No windows at all, for simulations and benchmarks
+            instance = new com.group_finity.mascot.headless.NativeFactoryImpl();
         } else if (environment.equals("wayland")) {
             // Force Wayland mode
             instance = new com.group_finity.mascot.wayland.NativeFactoryImpl();
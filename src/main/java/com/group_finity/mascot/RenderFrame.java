@@ -0,0 +1,218 @@
+package com.group_finity.mascot;
+
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.group_finity.mascot.image.NativeImage;
+import com.group_finity.mascot.image.TranslucentWindow;
+
+/**
+ * The window state every mascot wants for one tick.
+ * <p>
+ * Filled in on the tick thread by {@link Mascot#apply(RenderFrame)} and then handed to the
+ * event dispatch thread, so that Swing components are only ever touched from there.
+ */
+final class RenderFrame {
+
+	/**
+	 * Changes to one mascot's window. Null bounds or image mean that part of the window is unchanged.
+	 * <p>
+	 * Motion is how far the mascot's anchor moved since the previous tick, or null if the window
+	 * should jump straight to its new bounds.
+	 */
+	record Entry(Mascot mascot, Rectangle bounds, NativeImage image, boolean visible, boolean repaint,
+			Point motion) {
+
+		TranslucentWindow window() {
+			return mascot.getWindow();
+		}
+
+		/**
+		 * Combines this entry with a later one for the same window.
+		 */
+		Entry merge(final Entry newer) {
+			return new Entry(mascot,
+					newer.bounds != null ? newer.bounds : bounds,
+					newer.image != null ? newer.image : image,
+					newer.visible,
+					repaint || newer.repaint,
+					newer.motion);
+		}
+
+		/**
+		 * @param alpha how far between the previous tick and this one, from 0 to 1
+		 * @return the bounds the window should have at that point
+		 */
+		Rectangle boundsAt(final double alpha) {
+			if (bounds == null || motion == null || alpha >= 1) {
+				return bounds;
+			}
+			final double remaining = 1 - alpha;
+			return new Rectangle(bounds.x - (int) Math.round(motion.x * remaining),
+					bounds.y - (int) Math.round(motion.y * remaining), bounds.width, bounds.height);
+		}
+
+		void apply() {
+			// The window may have been disposed since this entry was made, and showing it would bring it back
+			if (mascot.isDisposed()) {
+				return;
+			}
+			final TranslucentWindow window = window();
+			final Component component = window.asComponent();
+			if (visible) {
+				// Set the window region
+				if (bounds != null) {
+					component.setBounds(bounds);
+				}
+
+				// Set Images
+				if (image != null) {
+					window.setImage(image);
+				}
+
+				// Display
+				if (!component.isVisible()) {
+					component.setVisible(true);
+				}
+
+				// Redraw
+				if (repaint) {
+					window.updateImage();
+				}
+			} else if (component.isVisible()) {
+				component.setVisible(false);
+			}
+		}
+	}
+
+	private final List<Entry> entries = new ArrayList<>();
+
+	private int skipped;
+
+	/**
+	 * Adds an update for a window that should be shown and whose movement may be interpolated.
+	 *
+	 * @param bounds  the new bounds, or null if they have not changed
+	 * @param image   the new image, or null if it has not changed
+	 * @param repaint whether the window contents have to be redrawn
+	 * @param motion  how far the mascot moved since the previous tick, or null to jump straight to the bounds
+	 */
+	void show(final Mascot mascot, final Rectangle bounds, final NativeImage image, final boolean repaint,
+			final Point motion) {
+		entries.add(new Entry(mascot, bounds, image, true, repaint, motion));
+	}
+
+	void hide(final Mascot mascot) {
+		entries.add(new Entry(mascot, null, null, false, false, null));
+	}
+
+	/**
+	 * Notes a mascot whose window needed no update this tick.
+	 */
+	void skip() {
+		skipped++;
+	}
+
+	boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	int getCommitted() {
+		return entries.size();
+	}
+
+	int getSkipped() {
+		return skipped;
+	}
+
+	/**
+	 * Applies this frame to the windows. Must be called on the event dispatch thread.
+	 */
+	void apply() {
+		for (final Entry entry : entries) {
+			entry.apply();
+		}
+	}
+
+	/**
+	 * Applies several frames that queued up while the event dispatch thread was busy,
+	 * touching each window only once with the latest state it was given.
+	 */
+	static void apply(final List<RenderFrame> frames) {
+		if (frames.size() == 1) {
+			frames.get(0).apply();
+		} else {
+			merge(frames).apply();
+		}
+	}
+
+	/**
+	 * Combines several frames into one holding a single entry per window with the latest state it was given.
+	 */
+	static RenderFrame merge(final List<RenderFrame> frames) {
+		final Map<TranslucentWindow, Entry> latest = new IdentityHashMap<>();
+		final List<TranslucentWindow> order = new ArrayList<>();
+		final RenderFrame merged = new RenderFrame();
+		for (final RenderFrame frame : frames) {
+			for (final Entry entry : frame.entries) {
+				if (entry.mascot().isDisposed()) {
+					continue;
+				}
+				final Entry older = latest.get(entry.window());
+				if (older == null) {
+					order.add(entry.window());
+					latest.put(entry.window(), entry);
+				} else {
+					latest.put(entry.window(), older.merge(entry));
+				}
+			}
+			merged.skipped += frame.skipped;
+		}
+		for (final TranslucentWindow window : order) {
+			merged.entries.add(latest.get(window));
+		}
+		return merged;
+	}
+
+	/**
+	 * Builds the frame to render part way between the previous tick and this one.
+	 *
+	 * @param alpha how far between the two ticks, from 0 to 1
+	 * @param first whether this is the first time this frame is rendered. Only then are images, visibility
+	 *              and windows that do not move included; afterwards just the moving windows are updated.
+	 */
+	RenderFrame interpolate(final double alpha, final boolean first) {
+		final RenderFrame frame = new RenderFrame();
+		for (final Entry entry : entries) {
+			if (entry.mascot.isDisposed()) {
+				continue;
+			}
+			if (first) {
+				frame.entries.add(new Entry(entry.mascot, entry.boundsAt(alpha), entry.image, entry.visible,
+						entry.repaint, entry.motion));
+			} else if (entry.visible && entry.bounds != null && entry.motion != null) {
+				frame.entries.add(new Entry(entry.mascot, entry.boundsAt(alpha), null, true, false, entry.motion));
+			}
+		}
+		return frame;
+	}
+
+	/**
+	 * @return the final positions of the windows that were still being moved towards them, for when
+	 *         this frame is replaced before its interpolation has finished
+	 */
+	RenderFrame remainder() {
+		final RenderFrame frame = new RenderFrame();
+		for (final Entry entry : entries) {
+			if (!entry.mascot.isDisposed() && entry.visible && entry.bounds != null && entry.motion != null) {
+				frame.entries.add(new Entry(entry.mascot, entry.bounds, null, true, false, null));
+			}
+		}
+		return frame;
+	}
+}
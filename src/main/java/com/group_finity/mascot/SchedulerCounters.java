@@ -0,0 +1,67 @@
+package com.group_finity.mascot;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Counters of one {@link TickScheduler}, as published by {@link TickStatisticsMXBean}. Drifts are in microseconds.
+ */
+public final class SchedulerCounters {
+
+	private final String name;
+
+	private final long ticks;
+
+	private final long overruns;
+
+	private final long dropped;
+
+	private final long averageDrift;
+
+	private final long maxDrift;
+
+	@ConstructorParameters({"name", "ticks", "overruns", "dropped", "averageDrift", "maxDrift"})
+	public SchedulerCounters(final String name, final long ticks, final long overruns, final long dropped,
+			final long averageDrift, final long maxDrift) {
+		this.name = name;
+		this.ticks = ticks;
+		this.overruns = overruns;
+		this.dropped = dropped;
+		this.averageDrift = averageDrift;
+		this.maxDrift = maxDrift;
+	}
+
+	static SchedulerCounters of(final String name, final TickScheduler scheduler) {
+		return new SchedulerCounters(name, scheduler.getTickCount(), scheduler.getOverrunCount(),
+				scheduler.getDroppedCount(), scheduler.getAverageDrift() / 1000, scheduler.getMaxDrift() / 1000);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getTicks() {
+		return ticks;
+	}
+
+	public long getOverruns() {
+		return overruns;
+	}
+
+	public long getDropped() {
+		return dropped;
+	}
+
+	public long getAverageDrift() {
+		return averageDrift;
+	}
+
+	public long getMaxDrift() {
+		return maxDrift;
+	}
+
+	@Override
+	public String toString() {
+		return name + " [ticks=" + ticks + ", overruns=" + overruns + ", dropped=" + dropped + ", averageDrift="
+				+ averageDrift + "us, maxDrift=" + maxDrift + "us]";
+	}
+}
@@ -0,0 +1,137 @@
+package com.group_finity.mascot;
+
+import java.awt.Point;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * A uniform spatial hash of mascot anchors, built once per tick for finding the nearest target.
+ * <p>
+ * The anchors are copied when the grid is built, so it answers where the mascots were at the start of
+ * the tick, however they have moved since, and breaks ties the same way whichever mascots moved first.
+ * The grid never changes after it is built and may be read from any thread. Questions about where
+ * mascots are now go to {@link AnchorIndex}, which shares its cells.
+ */
+final class SpatialGrid {
+
+	static final SpatialGrid EMPTY = new SpatialGrid(new Mascot[0]);
+
+	/**
+	 * Width and height of a cell in pixels, around the size of a mascot.
+	 */
+	static final int CELL_SIZE = 128;
+
+	private final Mascot[] mascots;
+
+	private final int[] xs;
+
+	private final int[] ys;
+
+	/**
+	 * Indices into {@link #mascots}, grouped so that the mascots of each cell are next to each other.
+	 */
+	private final int[] order;
+
+	/**
+	 * Start and length in {@link #order} of every cell that holds at least one anchor.
+	 */
+	private final Map<Long, int[]> cells;
+
+	SpatialGrid(final Mascot[] mascots) {
+		this.mascots = mascots;
+		xs = new int[mascots.length];
+		ys = new int[mascots.length];
+		order = new int[mascots.length];
+		cells = new HashMap<>();
+
+		final long[] keys = new long[mascots.length];
+		for (int i = 0; i < mascots.length; i++) {
+			final Point anchor = mascots[i].getAnchor();
+			xs[i] = anchor.x;
+			ys[i] = anchor.y;
+			keys[i] = key(cell(anchor.x), cell(anchor.y));
+			cells.computeIfAbsent(keys[i], key -> new int[2])[1]++;
+		}
+
+		int start = 0;
+		for (final int[] cell : cells.values()) {
+			cell[0] = start;
+			start += cell[1];
+			cell[1] = 0;
+		}
+		for (int i = 0; i < mascots.length; i++) {
+			final int[] cell = cells.get(keys[i]);
+			order[cell[0] + cell[1]++] = i;
+		}
+	}
+
+	static int cell(final int coordinate) {
+		return Math.floorDiv(coordinate, CELL_SIZE);
+	}
+
+	static long key(final int column, final int row) {
+		return (long) column << 32 | row & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Finds the accepted mascot anchored closest to a point, searching outwards one ring of cells at a time.
+	 * Equally close mascots are resolved in the order the grid was built from.
+	 *
+	 * @param accept tests the index of a mascot in the array the grid was built from
+	 * @return the index of the mascot, or -1 if none was accepted
+	 */
+	int nearest(final Point from, final IntPredicate accept) {
+		final int column = cell(from.x);
+		final int row = cell(from.y);
+		int best = -1;
+		long bestDistance = Long.MAX_VALUE;
+		for (int ring = 0; ; ring++) {
+			final long side = 2L * ring + 1;
+			if (side * side > 4L * cells.size()) {
+				// Mostly empty cells from here on, so it is cheaper to look at everything
+				for (int index = 0; index < mascots.length; index++) {
+					final long distance = distance(index, from);
+					if ((distance < bestDistance || distance == bestDistance && index < best) && accept.test(index)) {
+						best = index;
+						bestDistance = distance;
+					}
+				}
+				return best;
+			}
+			for (int y = row - ring; y <= row + ring; y++) {
+				// Only the edge of the ring, the inside has already been searched
+				final int step = y == row - ring || y == row + ring ? 1 : Math.max(1, 2 * ring);
+				for (int x = column - ring; x <= column + ring; x += step) {
+					final int[] cell = cells.get(key(x, y));
+					if (cell == null) {
+						continue;
+					}
+					for (int i = cell[0]; i < cell[0] + cell[1]; i++) {
+						final int index = order[i];
+						final long distance = distance(index, from);
+						if ((distance < bestDistance || distance == bestDistance && index < best) && accept.test(index)) {
+							best = index;
+							bestDistance = distance;
+						}
+					}
+				}
+			}
+			// Anything further out is at least a full ring of cells away
+			final long reach = (long) ring * CELL_SIZE;
+			if (best >= 0 && reach * reach > bestDistance) {
+				return best;
+			}
+		}
+	}
+
+	Mascot get(final int index) {
+		return mascots[index];
+	}
+
+	private long distance(final int index, final Point from) {
+		final long dx = (long) xs[index] - from.x;
+		final long dy = (long) ys[index] - from.y;
+		return dx * dx + dy * dy;
+	}
+}
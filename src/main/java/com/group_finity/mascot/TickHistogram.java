@@ -0,0 +1,99 @@
+package com.group_finity.mascot;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations in nanoseconds with log-linear buckets, in the style of HdrHistogram.
+ * <p>
+ * Values below 64 ns are counted exactly; above that every power of two is split into 32 buckets,
+ * so a reported percentile is never more than about 3% above the true value. Recording is lock-free
+ * and may happen from several threads at once.
+ */
+final class TickHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Values below this are counted in a bucket of their own.
+	 */
+	private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+	/**
+	 * Largest value that gets a bucket of its own precision, a little over 18 minutes. Anything longer is clamped.
+	 */
+	private static final long MAX_TRACKABLE = (1L << 40) - 1;
+
+	private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE) + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong max = new AtomicLong();
+
+	private static int indexOf(final long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+	}
+
+	/**
+	 * @return the largest value that falls into the bucket
+	 */
+	private static long highestValueAt(final int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		final int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+		final long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	void record(final long nanos) {
+		final long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE);
+		counts.incrementAndGet(indexOf(value));
+		count.incrementAndGet();
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	long getCount() {
+		return count.get();
+	}
+
+	long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 * @return the value below which the given percentage of the recorded values fall, or 0 if nothing was recorded
+	 */
+	long getValueAtPercentile(final double percentile) {
+		final long total = count.get();
+		if (total == 0) {
+			return 0;
+		}
+		final long target = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100) / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts.get(i);
+			if (seen >= target) {
+				return Math.min(highestValueAt(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts.set(i, 0);
+		}
+		count.set(0);
+		max.set(0);
+	}
+}
@@ -0,0 +1,163 @@
+package com.group_finity.mascot;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a task at a fixed rate by parking the calling thread until each absolute deadline.
+ * <p>
+ * Deadlines are advanced by exactly one period per tick, so rounding errors in the
+ * wake-up time do not accumulate. When ticks overrun, up to a fixed number of late ticks
+ * are run back to back to catch up; any further missed ticks are dropped and counted.
+ * <p>
+ * The counters are written only by the scheduling thread and may be read from any thread.
+ */
+public class TickScheduler {
+
+	/**
+	 * Length of one tick, in nanoseconds.
+	 */
+	private final long period;
+
+	/**
+	 * How many late ticks may be run back to back before the rest are dropped.
+	 */
+	private final int maxCatchUp;
+
+	private volatile long tickCount;
+
+	private volatile long overrunCount;
+
+	private volatile long droppedCount;
+
+	private volatile long totalDrift;
+
+	private volatile long maxDrift;
+
+	/**
+	 * Creates a scheduler that runs at most one late tick before dropping the rest.
+	 *
+	 * @param rate the number of ticks per second
+	 */
+	public TickScheduler(final double rate) {
+		this(rate, 1);
+	}
+
+	/**
+	 * @param rate       the number of ticks per second
+	 * @param maxCatchUp how many late ticks may be run back to back to catch up after an overrun
+	 */
+	public TickScheduler(final double rate, final int maxCatchUp) {
+		if (!(rate > 0)) {
+			throw new IllegalArgumentException("Tick rate must be positive: " + rate);
+		}
+		if (maxCatchUp < 1) {
+			throw new IllegalArgumentException("Catch-up limit must be at least 1: " + maxCatchUp);
+		}
+		this.period = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / rate));
+		this.maxCatchUp = maxCatchUp;
+	}
+
+	/**
+	 * Runs the task once per period until the thread is interrupted.
+	 *
+	 * @param task the task to run each tick
+	 * @throws InterruptedException when the calling thread is interrupted
+	 */
+	public void run(final Runnable task) throws InterruptedException {
+		long deadline = System.nanoTime() + period;
+
+		for (;;) {
+			long remaining;
+			while ((remaining = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, remaining);
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+			}
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+
+			// How late we were woken for this deadline
+			final long drift = -remaining;
+			totalDrift += drift;
+			if (drift > maxDrift) {
+				maxDrift = drift;
+			}
+
+			task.run();
+			tickCount++;
+
+			deadline += period;
+			final long lag = System.nanoTime() - deadline;
+			if (lag > 0) {
+				overrunCount++;
+				// Whole periods missed on top of the next tick, which is already due
+				final long behind = lag / period;
+				if (behind >= maxCatchUp) {
+					// Catch up with a limited burst and drop the rest
+					final long dropped = behind - (maxCatchUp - 1);
+					droppedCount += dropped;
+					deadline += dropped * period;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the length of one tick, in nanoseconds
+	 */
+	public long getPeriod() {
+		return period;
+	}
+
+	/**
+	 * @return how many late ticks may be run back to back before the rest are dropped
+	 */
+	public int getMaxCatchUp() {
+		return maxCatchUp;
+	}
+
+	/**
+	 * @return the number of ticks run so far
+	 */
+	public long getTickCount() {
+		return tickCount;
+	}
+
+	/**
+	 * @return the number of ticks that finished after the following deadline
+	 */
+	public long getOverrunCount() {
+		return overrunCount;
+	}
+
+	/**
+	 * @return the number of ticks dropped because the scheduler fell further behind than the catch-up limit
+	 */
+	public long getDroppedCount() {
+		return droppedCount;
+	}
+
+	/**
+	 * @return the mean time between a deadline and the tick actually starting, in nanoseconds
+	 */
+	public long getAverageDrift() {
+		final long ticks = tickCount;
+		return ticks == 0 ? 0 : totalDrift / ticks;
+	}
+
+	/**
+	 * @return the worst time between a deadline and the tick actually starting, in nanoseconds
+	 */
+	public long getMaxDrift() {
+		return maxDrift;
+	}
+
+	@Override
+	public String toString() {
+		return "TickScheduler [period=" + period + ", ticks=" + tickCount + ", overruns=" + overrunCount
+				+ ", dropped=" + droppedCount + ", averageDrift=" + getAverageDrift() + ", maxDrift=" + maxDrift + "]";
+	}
+}
@@ -0,0 +1,242 @@
+package com.group_finity.mascot;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Timings of the phases of {@link Manager#tick()}, alongside the counters the manager keeps anyway for its schedulers and windows.
+ * <p>
+ * No phase is timed unless sampling has been switched on through JMX or a debug window is showing
+ * the statistics, and even then only one tick in every {@link #getSampleInterval()} is timed. When
+ * sampling is off the cost is a single check per tick.
+ */
+public class TickStatistics implements TickStatisticsMXBean {
+
+	private static final Logger log = Logger.getLogger(TickStatistics.class.getName());
+
+	public static final String OBJECT_NAME = "com.group_finity.mascot:type=TickStatistics";
+
+	private static final int DEFAULT_SAMPLE_INTERVAL = 5;
+
+	private final Manager manager;
+
+	/**
+	 * The parts of a tick that are timed, in the order they run.
+	 */
+	enum Phase {
+		ENVIRONMENT("Environment"),
+		RECONCILE("Add/remove"),
+		TICK("Tick"),
+		APPLY("Apply");
+
+		private final String label;
+
+		Phase(final String label) {
+			this.label = label;
+		}
+	}
+
+	private final TickHistogram[] phases = new TickHistogram[Phase.values().length];
+
+	/**
+	 * Per image set histograms of the time one mascot spends in each phase. Only the tick and apply slots are used.
+	 */
+	private final ConcurrentMap<String, TickHistogram[]> imageSets = new ConcurrentHashMap<>();
+
+	private volatile boolean enabled;
+
+	private final AtomicInteger viewers = new AtomicInteger();
+
+	private volatile int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+
+	/**
+	 * Ticks seen while sampling was on. Only touched by the tick thread.
+	 */
+	private long ticks;
+
+	private volatile long sampledTicks;
+
+	private ObjectName registeredName;
+
+	TickStatistics(final Manager manager) {
+		this.manager = manager;
+		for (int i = 0; i < phases.length; i++) {
+			phases[i] = new TickHistogram();
+		}
+	}
+
+	/**
+	 * Decides whether the tick that is about to run should be timed. Called once at the start of every tick.
+	 */
+	boolean sample() {
+		if (!enabled && viewers.get() == 0) {
+			return false;
+		}
+		if (++ticks % sampleInterval != 0) {
+			return false;
+		}
+		sampledTicks++;
+		return true;
+	}
+
+	/**
+	 * Records a phase that started at the given time and has just ended.
+	 *
+	 * @return the end time, so that it can be used as the start of the next phase
+	 */
+	long record(final Phase phase, final long start) {
+		final long now = System.nanoTime();
+		phases[phase.ordinal()].record(now - start);
+		return now;
+	}
+
+	/**
+	 * Records the time a single mascot took in a phase. May be called from several threads at once.
+	 */
+	void record(final Phase phase, final String imageSet, final long start) {
+		final long elapsed = System.nanoTime() - start;
+		imageSets.computeIfAbsent(imageSet, key -> {
+			final TickHistogram[] histograms = new TickHistogram[Phase.values().length];
+			histograms[Phase.TICK.ordinal()] = new TickHistogram();
+			histograms[Phase.APPLY.ordinal()] = new TickHistogram();
+			return histograms;
+		})[phase.ordinal()].record(elapsed);
+	}
+
+	/**
+	 * Keeps sampling on while something is showing the statistics. Every call must be matched by {@link #removeViewer()}.
+	 */
+	void addViewer() {
+		viewers.incrementAndGet();
+	}
+
+	void removeViewer() {
+		viewers.decrementAndGet();
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled || viewers.get() > 0;
+	}
+
+	@Override
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Override
+	public int getSampleInterval() {
+		return sampleInterval;
+	}
+
+	@Override
+	public void setSampleInterval(final int interval) {
+		if (interval < 1) {
+			throw new IllegalArgumentException("Sample interval must be at least 1: " + interval);
+		}
+		sampleInterval = interval;
+	}
+
+	@Override
+	public long getSampledTicks() {
+		return sampledTicks;
+	}
+
+	@Override
+	public List<TickTiming> getPhases() {
+		final List<TickTiming> timings = new ArrayList<>(phases.length);
+		for (final Phase phase : Phase.values()) {
+			timings.add(TickTiming.of(phase.label, phases[phase.ordinal()]));
+		}
+		return timings;
+	}
+
+	@Override
+	public List<TickTiming> getImageSets() {
+		final List<TickTiming> timings = new ArrayList<>();
+		for (final Map.Entry<String, TickHistogram[]> entry : new TreeMap<>(imageSets).entrySet()) {
+			for (final Phase phase : new Phase[] { Phase.TICK, Phase.APPLY }) {
+				timings.add(TickTiming.of(entry.getKey() + " " + phase.label, entry.getValue()[phase.ordinal()]));
+			}
+		}
+		return timings;
+	}
+
+	@Override
+	public List<SchedulerCounters> getSchedulers() {
+		final List<SchedulerCounters> counters = new ArrayList<>(2);
+		final TickScheduler scheduler = manager.getScheduler();
+		if (scheduler != null) {
+			counters.add(SchedulerCounters.of("Tick", scheduler));
+		}
+		final TickScheduler renderScheduler = manager.getRenderScheduler();
+		if (renderScheduler != null) {
+			counters.add(SchedulerCounters.of("Render", renderScheduler));
+		}
+		return counters;
+	}
+
+	@Override
+	public long getCommittedUpdates() {
+		return manager.getCommittedUpdateCount();
+	}
+
+	@Override
+	public long getSkippedUpdates() {
+		return manager.getSkippedUpdateCount();
+	}
+
+	@Override
+	public void reset() {
+		for (final TickHistogram histogram : phases) {
+			histogram.reset();
+		}
+		imageSets.clear();
+		sampledTicks = 0;
+	}
+
+	/**
+	 * Publishes these statistics on the platform MBean server. Failures are logged and otherwise ignored.
+	 */
+	synchronized void register() {
+		if (registeredName != null) {
+			return;
+		}
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (server.isRegistered(name)) {
+				log.log(Level.WARNING, "Tick statistics are already registered as {0}", OBJECT_NAME);
+				return;
+			}
+			server.registerMBean(this, name);
+			registeredName = name;
+		} catch (final JMException e) {
+			log.log(Level.WARNING, "Failed to register tick statistics", e);
+		}
+	}
+
+	synchronized void unregister() {
+		if (registeredName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+		} catch (final JMException e) {
+			log.log(Level.WARNING, "Failed to unregister tick statistics", e);
+		}
+		registeredName = null;
+	}
+}
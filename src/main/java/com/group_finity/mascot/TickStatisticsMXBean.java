@@ -0,0 +1,56 @@
+package com.group_finity.mascot;
+
+import java.util.List;
+
+/**
+ * Management interface for {@link TickStatistics}, registered as {@value TickStatistics#OBJECT_NAME}.
+ */
+public interface TickStatisticsMXBean {
+
+	/**
+	 * @return whether ticks are being sampled, either because it was switched on here or because a debug window is open
+	 */
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	/**
+	 * @return how many ticks pass between two measured ones
+	 */
+	int getSampleInterval();
+
+	void setSampleInterval(int interval);
+
+	/**
+	 * @return the number of ticks measured since the last reset
+	 */
+	long getSampledTicks();
+
+	/**
+	 * @return one entry for each phase of the tick, in the order they run
+	 */
+	List<TickTiming> getPhases();
+
+	/**
+	 * @return the time a single mascot of each image set takes in the tick and apply phases
+	 */
+	List<TickTiming> getImageSets();
+
+	/**
+	 * @return the counters of the tick scheduler and, when frames are rendered at their own rate, the render
+	 * scheduler, kept since the manager started and not cleared by {@link #reset()}
+	 */
+	List<SchedulerCounters> getSchedulers();
+
+	/**
+	 * @return the number of window updates sent to the event dispatch thread since the manager started
+	 */
+	long getCommittedUpdates();
+
+	/**
+	 * @return the number of window updates skipped since the manager started because nothing about the window changed
+	 */
+	long getSkippedUpdates();
+
+	void reset();
+}
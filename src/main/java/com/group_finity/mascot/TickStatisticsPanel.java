@@ -0,0 +1,132 @@
+package com.group_finity.mascot;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+
+/**
+ * Shows the tick phase timings, scheduler counters and window update counts of a {@link Manager}. Sampling stays switched on for as long as the panel is displayed.
+ */
+class TickStatisticsPanel extends JPanel
+{
+    private static final int REFRESH_INTERVAL = 1000;
+
+    private final TickStatistics statistics;
+
+    private final DefaultTableModel model;
+
+    private final DefaultTableModel schedulers;
+
+    private final JLabel updates = new JLabel( );
+
+    private final String updatesSent;
+
+    private final String updatesSkipped;
+
+    private final Timer timer = new Timer( REFRESH_INTERVAL, e -> refresh( ) );
+
+    TickStatisticsPanel( final TickStatistics statistics )
+    {
+        super( new BorderLayout( ) );
+        this.statistics = statistics;
+
+        final ResourceBundle language = Main.getInstance( ).getLanguageBundle( );
+        updatesSent = language.getString( "WindowUpdatesSent" );
+        updatesSkipped = language.getString( "WindowUpdatesSkipped" );
+        model = new DefaultTableModel( new Object[ ] { language.getString( "TickPhase" ), language.getString( "TickSamples" ),
+                                                       "p50 (ms)", "p99 (ms)", "max (ms)" }, 0 )
+        {
+            @Override
+            public boolean isCellEditable( final int row, final int column )
+            {
+                return false;
+            }
+        };
+
+        final JTable table = new JTable( model );
+        table.setFillsViewportHeight( true );
+        add( new JScrollPane( table ), BorderLayout.CENTER );
+
+        schedulers = new DefaultTableModel( new Object[ ] { language.getString( "Scheduler" ), language.getString( "TickCount" ),
+                                                            language.getString( "Overruns" ), language.getString( "DroppedTicks" ),
+                                                            "avg drift (ms)", "max drift (ms)" }, 0 )
+        {
+            @Override
+            public boolean isCellEditable( final int row, final int column )
+            {
+                return false;
+            }
+        };
+        final JTable schedulerTable = new JTable( schedulers );
+        schedulerTable.setPreferredScrollableViewportSize( new Dimension( table.getPreferredScrollableViewportSize( ).width,
+                                                                          schedulerTable.getRowHeight( ) * 2 ) );
+        add( new JScrollPane( schedulerTable ), BorderLayout.NORTH );
+
+        final JButton clear = new JButton( language.getString( "ClearTimings" ) );
+        clear.addActionListener( e ->
+        {
+            statistics.reset( );
+            refresh( );
+        } );
+        final JPanel buttons = new JPanel( new FlowLayout( FlowLayout.TRAILING ) );
+        buttons.add( updates );
+        buttons.add( clear );
+        add( buttons, BorderLayout.SOUTH );
+    }
+
+    @Override
+    public void addNotify( )
+    {
+        super.addNotify( );
+        statistics.addViewer( );
+        timer.start( );
+        refresh( );
+    }
+
+    @Override
+    public void removeNotify( )
+    {
+        timer.stop( );
+        statistics.removeViewer( );
+        super.removeNotify( );
+    }
+
+    private void refresh( )
+    {
+        final List<TickTiming> timings = new ArrayList<>( statistics.getPhases( ) );
+        timings.addAll( statistics.getImageSets( ) );
+
+        model.setRowCount( 0 );
+        for( final TickTiming timing : timings )
+        {
+            model.addRow( new Object[ ] { timing.getName( ), timing.getSamples( ),
+                                          format( timing.getP50( ) ), format( timing.getP99( ) ), format( timing.getMax( ) ) } );
+        }
+
+        schedulers.setRowCount( 0 );
+        for( final SchedulerCounters counters : statistics.getSchedulers( ) )
+        {
+            schedulers.addRow( new Object[ ] { counters.getName( ), counters.getTicks( ), counters.getOverruns( ), counters.getDropped( ),
+                                               format( counters.getAverageDrift( ) ), format( counters.getMaxDrift( ) ) } );
+        }
+
+        updates.setText( updatesSent + ": " + statistics.getCommittedUpdates( ) + "   "
+                         + updatesSkipped + ": " + statistics.getSkippedUpdates( ) );
+    }
+
+    private static String format( final long micros )
+    {
+        return String.format( "%.3f", micros / 1000.0 );
+    }
+}
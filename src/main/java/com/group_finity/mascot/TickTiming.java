@@ -0,0 +1,60 @@
+package com.group_finity.mascot;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Summary of one tick phase, as published by {@link TickStatisticsMXBean}. Times are in microseconds.
+ */
+public final class TickTiming {
+
+	private final String name;
+
+	private final long samples;
+
+	private final long p50;
+
+	private final long p99;
+
+	private final long max;
+
+	@ConstructorParameters({"name", "samples", "p50", "p99", "max"})
+	public TickTiming(final String name, final long samples, final long p50, final long p99, final long max) {
+		this.name = name;
+		this.samples = samples;
+		this.p50 = p50;
+		this.p99 = p99;
+		this.max = max;
+	}
+
+	static TickTiming of(final String name, final TickHistogram histogram) {
+		return new TickTiming(name, histogram.getCount(),
+				histogram.getValueAtPercentile(50) / 1000,
+				histogram.getValueAtPercentile(99) / 1000,
+				histogram.getMax() / 1000);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getSamples() {
+		return samples;
+	}
+
+	public long getP50() {
+		return p50;
+	}
+
+	public long getP99() {
+		return p99;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return name + " [samples=" + samples + ", p50=" + p50 + "us, p99=" + p99 + "us, max=" + max + "us]";
+	}
+}
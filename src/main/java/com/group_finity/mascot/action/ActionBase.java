@@ -1,8 +1,10 @@
 package com.group_finity.mascot.action;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.ResourceBundle;
 
+import com.group_finity.mascot.Manager;
 import com.group_finity.mascot.Mascot;
 import com.group_finity.mascot.animation.Animation;
 import com.group_finity.mascot.environment.MascotEnvironment;
@@ -34,6 +36,10 @@ public abstract class ActionBase implements Action
 
     private static final String DEFAULT_AFFORDANCE = "";
 
+    public static final String PARAMETER_TARGETSELECTION = "TargetSelection";
+
+    private static final String DEFAULT_TARGETSELECTION = "";
+
     private Mascot mascot;
 
     private int startTime;
@@ -44,6 +50,13 @@ public abstract class ActionBase implements Action
 
     private final ResourceBundle schema;
 
+    /**
+     * Set when the action starts, so that the next frame publishes its affordance.
+     */
+    private boolean affordanceStale;
+
+    private boolean affordanceDynamic;
+
     public ActionBase( ResourceBundle schema, final List<Animation> animations, final VariableMap context )
     {
         this.schema = schema;
@@ -75,6 +88,10 @@ public abstract class ActionBase implements Action
 
         getVariables( ).init( );
 
+        final Variable affordance = getVariables( ).getRawMap( ).get( schema.getString( PARAMETER_AFFORDANCE ) );
+        affordanceDynamic = affordance != null && affordance.isDynamic( );
+        affordanceStale = true;
+
         for( final Animation animation : animations )
         {
             animation.init( );
@@ -86,11 +103,12 @@ public abstract class ActionBase implements Action
     {
         initFrame( );
         
-        // affordances
-        if( !getMascot( ).getAffordances( ).isEmpty( ) )
-            getMascot( ).getAffordances( ).clear( );
-        if( !getAffordance( ).trim( ).isEmpty( ) )
-            getMascot( ).getAffordances( ).add( getAffordance( ) );
+        // affordances only change when the action starts, unless they come from a #{} script
+        if( affordanceStale || affordanceDynamic )
+        {
+            affordanceStale = false;
+            getMascot( ).replaceAffordances( isBroadcasting( ) && !getAffordance( ).trim( ).isEmpty( ) ? getAffordance( ) : null );
+        }
         
         // hotspots
         refreshHotspots( );
@@ -156,11 +174,61 @@ public abstract class ActionBase implements Action
         return eval( schema.getString( PARAMETER_DURATION ), Number.class, DEFAULT_DURATION ).intValue( );
     }
 
+    /**
+     * Whether the mascot advertises this action's affordance to others while it runs. Actions that use the
+     * affordance to look for a target instead return false.
+     */
+    protected boolean isBroadcasting( )
+    {
+        return true;
+    }
+
     protected String getAffordance( ) throws VariableException
     {
         return eval( schema.getString( PARAMETER_AFFORDANCE ), String.class, DEFAULT_AFFORDANCE );
     }
 
+    private String getTargetSelection( ) throws VariableException
+    {
+        return eval( schema.getString( PARAMETER_TARGETSELECTION ), String.class, DEFAULT_TARGETSELECTION );
+    }
+
+    /**
+     * Looks for a mascot broadcasting this action's affordance. By default the first one found is used;
+     * TargetSelection="Nearest" picks the closest one instead, and "NearestUnclaimed" the closest one that no
+     * other mascot is already heading for.
+     *
+     * @return the target, or null if there is none
+     */
+    protected WeakReference<Mascot> findTarget( ) throws VariableException
+    {
+        final Manager manager = getMascot( ).getManager( );
+        if( manager == null )
+            return null;
+
+        final String selection = getTargetSelection( );
+        if( selection.equals( schema.getString( "NearestUnclaimed" ) ) )
+        {
+            final WeakReference<Mascot> target = manager.getNearestMascotWithAffordance( getMascot( ), getAffordance( ), true );
+            return target != null && target.get( ) != null && manager.claim( getMascot( ), target.get( ) ) ? target : null;
+        }
+        if( selection.equals( schema.getString( "Nearest" ) ) )
+            return manager.getNearestMascotWithAffordance( getMascot( ), getAffordance( ), false );
+        return manager.getMascotWithAffordance( getAffordance( ) );
+    }
+
+    /**
+     * Renews the claim on a target found with TargetSelection="NearestUnclaimed". Must be called every tick for
+     * as long as the mascot is heading for the target, or the claim lapses.
+     */
+    protected void holdTarget( final WeakReference<Mascot> target ) throws VariableException
+    {
+        final Manager manager = getMascot( ).getManager( );
+        if( manager != null && target != null && target.get( ) != null
+            && getTargetSelection( ).equals( schema.getString( "NearestUnclaimed" ) ) )
+            manager.claim( getMascot( ), target.get( ) );
+    }
+
     private void setMascot( final Mascot mascot )
     {
         this.mascot = mascot;
@@ -88,10 +88,9 @@ public class ComplexJump extends ActionBase
         if( scanEnabled )
         {
             // cannot broadcast while scanning for an affordance
-            getMascot( ).getAffordances( ).clear( );
+            getMascot( ).clearAffordances( );
 
-            if( getMascot( ).getManager( ) != null )
-                target = getMascot( ).getManager( ).getMascotWithAffordance( getAffordance( ) );
+            target = findTarget( );
             putVariable( getSchema( ).getString( "TargetX" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).x : null );
             putVariable( getSchema( ).getString( "TargetY" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).y : null );
         }
@@ -105,7 +104,7 @@ public class ComplexJump extends ActionBase
             if( getMascot( ).getManager( ) == null )
                 return super.hasNext( );
 
-            return super.hasNext( ) && target != null && target.get( ) != null && target.get( ).getAffordances( ).contains( getAffordance( ) );
+            return super.hasNext( ) && target != null && target.get( ) != null && target.get( ).hasAffordance( getAffordance( ) );
         }
         else
         {
@@ -121,6 +120,13 @@ public class ComplexJump extends ActionBase
         }
     }
 
+    @Override
+    protected boolean isBroadcasting( )
+    {
+        // cannot broadcast while scanning for an affordance
+        return !scanEnabled;
+    }
+
     @Override
     protected void tick( ) throws VariableException
     {
@@ -129,8 +135,7 @@ public class ComplexJump extends ActionBase
         
         if( scanEnabled )
         {
-            // cannot broadcast while scanning for an affordance
-            getMascot( ).getAffordances( ).clear( );
+            holdTarget( target );
 
             targetX = target.get( ).getAnchor( ).x;
             targetY = target.get( ).getAnchor( ).y;
@@ -180,11 +185,7 @@ public class ComplexJump extends ActionBase
                 try
                 {
                     getMascot( ).setBehavior( Main.getInstance( ).getConfiguration( getMascot( ).getImageSet( ) ).buildBehavior( getBehavior( ), getMascot( ) ) );
-                    target.get( ).setBehavior( Main.getInstance( ).getConfiguration( target.get( ).getImageSet( ) ).buildBehavior( getTargetBehavior( ), target.get( ) ) );
-                    if( getTargetLook( ) && target.get( ).isLookRight( ) == getMascot( ).isLookRight( ) )
-                    {
-                        target.get( ).setLookRight( !getMascot( ).isLookRight( ) );
-                    }
+                    target.get( ).respondTo( getMascot( ), getTargetBehavior( ), getTargetLook( ) );
                 }
                 catch( final NullPointerException | CantBeAliveException | BehaviorInstantiationException e )
                 {
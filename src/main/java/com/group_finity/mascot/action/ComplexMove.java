@@ -84,10 +84,9 @@ public class ComplexMove extends BorderedAction
         if( scanEnabled )
         {
             // cannot broadcast while scanning for an affordance
-            getMascot( ).getAffordances( ).clear( );
+            getMascot( ).clearAffordances( );
 
-            if( getMascot( ).getManager( ) != null )
-                target = getMascot( ).getManager( ).getMascotWithAffordance( getAffordance( ) );
+            target = findTarget( );
             putVariable( getSchema( ).getString( "TargetX" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).x : null );
             putVariable( getSchema( ).getString( "TargetY" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).y : null );
         }
@@ -101,7 +100,7 @@ public class ComplexMove extends BorderedAction
             if( getMascot( ).getManager( ) == null )
                 return super.hasNext( );
 
-            return super.hasNext( ) && ( turning || ( target != null && target.get( ) != null && target.get( ).getAffordances( ).contains( getAffordance( ) ) ) );
+            return super.hasNext( ) && ( turning || ( target != null && target.get( ) != null && target.get( ).hasAffordance( getAffordance( ) ) ) );
         }
         else
         {
@@ -115,6 +114,13 @@ public class ComplexMove extends BorderedAction
         }
     }
 
+    @Override
+    protected boolean isBroadcasting( )
+    {
+        // cannot broadcast while scanning for an affordance
+        return !scanEnabled;
+    }
+
     @Override
     protected void tick( ) throws LostGroundException, VariableException
     {
@@ -122,8 +128,7 @@ public class ComplexMove extends BorderedAction
         
         if( scanEnabled )
         {
-            // cannot broadcast while scanning for an affordance
-            getMascot( ).getAffordances( ).clear( );
+            holdTarget( target );
         }
 
         if( ( getBorder( ) != null ) && !getBorder( ).isOn( getMascot( ).getAnchor( ) ) )
@@ -182,11 +187,7 @@ public class ComplexMove extends BorderedAction
             try
             {
                 getMascot( ).setBehavior( Main.getInstance( ).getConfiguration( getMascot( ).getImageSet( ) ).buildBehavior( getBehavior( ), getMascot( ) ) );
-                target.get( ).setBehavior( Main.getInstance( ).getConfiguration( target.get( ).getImageSet( ) ).buildBehavior( getTargetBehavior( ), target.get( ) ) );
-                if( getTargetLook( ) && target.get( ).isLookRight( ) == getMascot( ).isLookRight( ) )
-                {
-                    target.get( ).setLookRight( !getMascot( ).isLookRight( ) );
-                }
+                target.get( ).respondTo( getMascot( ), getTargetBehavior( ), getTargetLook( ) );
             }
             catch( final NullPointerException | CantBeAliveException | BehaviorInstantiationException e )
             {
@@ -94,33 +94,7 @@ public class Fall extends ActionBase {
         this.setModX( this.getModX( ) % 1 );
         this.setModY( this.getModY( ) % 1 );
 
-        int dev = Math.max( 1, Math.max( Math.abs( dx ), Math.abs( dy ) ) );
-
-        Point start = getMascot( ).getAnchor( );
-
-        OUTER: for( int i = 0; i <= dev; ++i )
-        {
-            int x = start.x + dx * i / dev;
-            int y = start.y + dy * i / dev;
-
-            getMascot( ).setAnchor( new Point( x, y ) );
-            if( dy > 0 )
-            {
-                // HACK IE
-                for( int j = -80; j<=0; ++j )
-                {
-                    getMascot( ).setAnchor( new Point( x, y + j ) );
-                    if( getEnvironment( ).getFloor( true ).isOn( getMascot( ).getAnchor( ) ) )
-                    {
-                        break OUTER;
-                    }
-                }
-            }
-            if( getEnvironment( ).getWall( true ).isOn( getMascot( ).getAnchor( ) ) )
-            {
-                break;
-            }
-        }
+        getMascot( ).setAnchor( getEnvironment( ).sweep( dx, dy ) );
 
         getAnimation( ).next( getMascot( ), getTime( ) );
     }
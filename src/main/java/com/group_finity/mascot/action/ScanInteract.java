@@ -51,7 +51,7 @@ public class ScanInteract extends BorderedAction
         super.init( mascot );
         
         // cannot broadcast while scanning for an affordance
-        getMascot( ).getAffordances( ).clear( );
+        getMascot( ).clearAffordances( );
         
         putVariable( getSchema( ).getString( "TargetX" ), null );
         putVariable( getSchema( ).getString( "TargetY" ), null );
@@ -65,14 +65,18 @@ public class ScanInteract extends BorderedAction
         return super.hasNext( ) && turning || intime;
     }
 
+    @Override
+    protected boolean isBroadcasting( )
+    {
+        // cannot broadcast while scanning for an affordance
+        return false;
+    }
+
     @Override
     protected void tick( ) throws LostGroundException, VariableException
     {
         super.tick( );
         
-        // cannot broadcast while scanning for an affordance
-        getMascot( ).getAffordances( ).clear( );
-
         if( ( getBorder( ) != null ) && !getBorder( ).isOn( getMascot( ).getAnchor( ) ) )
         {
             log.log( Level.INFO, "Lost Ground ({0},{1})", new Object[ ] { getMascot( ), this } );
@@ -80,13 +84,14 @@ public class ScanInteract extends BorderedAction
         }
         
         // refresh target
-        if( getMascot( ).getManager( ) != null && ( target == null || target.get( ) == null || !target.get( ).getAffordances( ).contains( getAffordance( ) ) ) )
-            target = getMascot( ).getManager( ).getMascotWithAffordance( getAffordance( ) );
+        if( getMascot( ).getManager( ) != null && ( target == null || target.get( ) == null || !target.get( ).hasAffordance( getAffordance( ) ) ) )
+            target = findTarget( );
+        holdTarget( target );
         
         putVariable( getSchema( ).getString( "TargetX" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).x : null );
         putVariable( getSchema( ).getString( "TargetY" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).y : null );
         
-        if( target != null && target.get( ) != null && target.get( ).getAffordances( ).contains( getAffordance( ) ) )
+        if( target != null && target.get( ) != null && target.get( ).hasAffordance( getAffordance( ) ) )
         {
             if( getMascot( ).getAnchor( ).x != target.get( ).getAnchor( ).x )
             {
@@ -109,14 +114,7 @@ public class ScanInteract extends BorderedAction
                 try
                 {
                     getMascot( ).setBehavior( Main.getInstance( ).getConfiguration( getMascot( ).getImageSet( ) ).buildBehavior( getBehavior( ), getMascot( ) ) );
-                    if( !getTargetBehavior( ).trim( ).isEmpty( ) )
-                    {
-                        target.get( ).setBehavior( Main.getInstance( ).getConfiguration( target.get( ).getImageSet( ) ).buildBehavior( getTargetBehavior( ), target.get( ) ) );
-                    }
-                    if( getTargetLook( ) && target.get( ).isLookRight( ) == getMascot( ).isLookRight( ) )
-                    {
-                        target.get( ).setLookRight( !getMascot( ).isLookRight( ) );
-                    }
+                    target.get( ).respondTo( getMascot( ), getTargetBehavior( ).trim( ).isEmpty( ) ? null : getTargetBehavior( ), getTargetLook( ) );
                 }
                 catch( final NullPointerException | CantBeAliveException | BehaviorInstantiationException e )
                 {
@@ -56,10 +56,9 @@ public class ScanJump extends ActionBase
         super.init( mascot );
         
         // cannot broadcast while scanning for an affordance
-        getMascot( ).getAffordances( ).clear( );
+        getMascot( ).clearAffordances( );
         
-        if( getMascot( ).getManager( ) != null )
-            target = getMascot( ).getManager( ).getMascotWithAffordance( getAffordance( ) );
+        target = findTarget( );
         putVariable( getSchema( ).getString( "TargetX" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).x : null );
         putVariable( getSchema( ).getString( "TargetY" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).y : null );
     }
@@ -70,14 +69,20 @@ public class ScanJump extends ActionBase
         if( getMascot( ).getManager( ) == null )
             return super.hasNext( );
         
-        return super.hasNext( ) && target != null && target.get( ) != null && target.get( ).getAffordances( ).contains( getAffordance( ) );
+        return super.hasNext( ) && target != null && target.get( ) != null && target.get( ).hasAffordance( getAffordance( ) );
     }
 
     @Override
-    protected void tick( ) throws VariableException
+    protected boolean isBroadcasting( )
     {
         // cannot broadcast while scanning for an affordance
-        getMascot( ).getAffordances( ).clear( );
+        return false;
+    }
+
+    @Override
+    protected void tick( ) throws VariableException
+    {
+        holdTarget( target );
         
         int targetX = target.get( ).getAnchor( ).x;
         int targetY = target.get( ).getAnchor( ).y;
@@ -117,11 +122,7 @@ public class ScanJump extends ActionBase
             try
             {
                 getMascot( ).setBehavior( Main.getInstance( ).getConfiguration( getMascot( ).getImageSet( ) ).buildBehavior( getBehavior( ), getMascot( ) ) );
-                target.get( ).setBehavior( Main.getInstance( ).getConfiguration( target.get( ).getImageSet( ) ).buildBehavior( getTargetBehavior( ), target.get( ) ) );
-                if( getTargetLook( ) && target.get( ).isLookRight( ) == getMascot( ).isLookRight( ) )
-                {
-                    target.get( ).setLookRight( !getMascot( ).isLookRight( ) );
-                }
+                target.get( ).respondTo( getMascot( ), getTargetBehavior( ), getTargetLook( ) );
             }
             catch( final NullPointerException | CantBeAliveException | BehaviorInstantiationException e )
             {
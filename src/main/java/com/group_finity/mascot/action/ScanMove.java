@@ -52,10 +52,9 @@ public class ScanMove extends BorderedAction
         super.init( mascot );
         
         // cannot broadcast while scanning for an affordance
-        getMascot( ).getAffordances( ).clear( );
+        getMascot( ).clearAffordances( );
         
-        if( getMascot( ).getManager( ) != null )
-            target = getMascot( ).getManager( ).getMascotWithAffordance( getAffordance( ) );
+        target = findTarget( );
         putVariable( getSchema( ).getString( "TargetX" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).x : null );
         putVariable( getSchema( ).getString( "TargetY" ), target != null && target.get( ) != null ? target.get( ).getAnchor( ).y : null );
     }
@@ -66,7 +65,14 @@ public class ScanMove extends BorderedAction
         if( getMascot( ).getManager( ) == null )
             return super.hasNext( );
         
-        return super.hasNext( ) && ( turning || ( target != null && target.get( ) != null && target.get( ).getAffordances( ).contains( getAffordance( ) ) ) );
+        return super.hasNext( ) && ( turning || ( target != null && target.get( ) != null && target.get( ).hasAffordance( getAffordance( ) ) ) );
+    }
+
+    @Override
+    protected boolean isBroadcasting( )
+    {
+        // cannot broadcast while scanning for an affordance
+        return false;
     }
 
     @Override
@@ -74,8 +80,7 @@ public class ScanMove extends BorderedAction
     {
         super.tick( );
         
-        // cannot broadcast while scanning for an affordance
-        getMascot( ).getAffordances( ).clear( );
+        holdTarget( target );
 
         if( ( getBorder( ) != null ) && !getBorder( ).isOn( getMascot( ).getAnchor( ) ) )
         {
@@ -121,11 +126,7 @@ public class ScanMove extends BorderedAction
             try
             {
                 getMascot( ).setBehavior( Main.getInstance( ).getConfiguration( getMascot( ).getImageSet( ) ).buildBehavior( getBehavior( ), getMascot( ) ) );
-                target.get( ).setBehavior( Main.getInstance( ).getConfiguration( target.get( ).getImageSet( ) ).buildBehavior( getTargetBehavior( ), target.get( ) ) );
-                if( getTargetLook( ) && target.get( ).isLookRight( ) == getMascot( ).isLookRight( ) )
-                {
-                    target.get( ).setLookRight( !getMascot( ).isLookRight( ) );
-                }
+                target.get( ).respondTo( getMascot( ), getTargetBehavior( ), getTargetLook( ) );
             }
             catch( final NullPointerException | CantBeAliveException | BehaviorInstantiationException e )
             {
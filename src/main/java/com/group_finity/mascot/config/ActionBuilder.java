@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.ResourceBundle;
@@ -40,6 +41,10 @@ public class ActionBuilder implements IActionBuilder {
 	private final Map<String, String> params = new LinkedHashMap<>();
 	private final List<AnimationBuilder> animationBuilders = new ArrayList<>();
 	private final List<IActionBuilder> actionRefs = new ArrayList<>();
+	/**
+	 * Parameters parsed so far, by source. Each action built gets its own copy, which shares the compiled script.
+	 */
+	private final Map<String, Variable> templates = new ConcurrentHashMap<>();
         private final ResourceBundle schema;
 
 	public ActionBuilder( final Configuration configuration, final Entry actionNode, final String imageSet ) throws IOException
@@ -164,14 +169,26 @@ public class ActionBuilder implements IActionBuilder {
 	private VariableMap createVariables(final Map<String, String> params) throws VariableException {
 		final VariableMap variables = new VariableMap();
 		for (final Map.Entry<String, String> param : this.getParams().entrySet()) {
-			variables.put(param.getKey(), Variable.parse(param.getValue()));
+			variables.put(param.getKey(), newVariable(param.getValue()));
 		}
 		for (final Map.Entry<String, String> param : params.entrySet()) {
-			variables.put(param.getKey(), Variable.parse(param.getValue()));
+			variables.put(param.getKey(), newVariable(param.getValue()));
 		}
 		return variables;
 	}
 
+	private Variable newVariable(final String source) throws VariableException {
+		if (source == null) {
+			return null;
+		}
+		Variable template = this.templates.get(source);
+		if (template == null) {
+			template = Variable.parse(source);
+			this.templates.putIfAbsent(source, template);
+		}
+		return template.newInstance();
+	}
+
 	public String getName() {
 		return this.name;
 	}
@@ -32,6 +32,10 @@ public class AnimationBuilder
 {
     private static final Logger log = Logger.getLogger(AnimationBuilder.class.getName( ) );
     private final String condition;
+    /**
+     * The condition, parsed by the first animation built. Every animation gets its own copy, which shares the compiled script.
+     */
+    private volatile Variable template;
     private String imageSet = "";
     private final List<Pose> poses = new ArrayList<>();
     private final List<Hotspot> hotspots = new ArrayList<>();
@@ -179,11 +183,20 @@ public class AnimationBuilder
     {
         try
         {
-            return new Animation( Variable.parse( condition ), poses.toArray( new Pose[ 0 ] ), hotspots.toArray( new Hotspot[ 0 ] ), Boolean.parseBoolean( turn ) );
+            return new Animation( getTemplate( ).newInstance( ), poses.toArray( new Pose[ 0 ] ), hotspots.toArray( new Hotspot[ 0 ] ), Boolean.parseBoolean( turn ) );
         }
         catch( final VariableException e )
         {
             throw new AnimationInstantiationException( Main.getInstance( ).getLanguageBundle( ).getString( "FailedConditionEvaluationErrorMessage" ), e );
         }
     }
+
+    private Variable getTemplate( ) throws VariableException
+    {
+        if( template == null )
+        {
+            template = Variable.parse( condition );
+        }
+        return template;
+    }
 }
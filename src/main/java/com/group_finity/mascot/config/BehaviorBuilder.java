@@ -14,7 +14,7 @@ import com.group_finity.mascot.exception.ActionInstantiationException;
 import com.group_finity.mascot.exception.BehaviorInstantiationException;
 import com.group_finity.mascot.exception.ConfigurationException;
 import com.group_finity.mascot.exception.VariableException;
-import com.group_finity.mascot.script.Variable;
+import com.group_finity.mascot.script.Condition;
 import com.group_finity.mascot.script.VariableMap;
 
 /**
@@ -34,7 +34,10 @@ public class BehaviorBuilder {
 
 	private final int frequency;
 
-	private final List<String> conditions;
+	/**
+	 * Compiled when the configuration is loaded, so choosing a behavior never compiles anything.
+	 */
+	private final List<Condition> conditions = new ArrayList<>();
 
 	private final boolean hidden;
         
@@ -52,8 +55,13 @@ public class BehaviorBuilder {
 		this.actionName = behaviorNode.getAttribute( configuration.getSchema( ).getString( "Action" ) ) == null ? getName( ) : behaviorNode.getAttribute( configuration.getSchema( ).getString( "Action" ) );
 		this.frequency = Integer.parseInt( behaviorNode.getAttribute( configuration.getSchema( ).getString( "Frequency" ) ) );
                 this.hidden = Boolean.parseBoolean( behaviorNode.getAttribute( configuration.getSchema( ).getString( "Hidden" ) ) );
-		this.conditions = new ArrayList<>(conditions);
-		this.getConditions().add(behaviorNode.getAttribute( configuration.getSchema( ).getString( "Condition" ) ) );
+		final List<String> sources = new ArrayList<>(conditions);
+		sources.add(behaviorNode.getAttribute( configuration.getSchema( ).getString( "Condition" ) ) );
+		for (final String source : sources) {
+			if (source != null) {
+				this.getConditions().add(Condition.compile(source));
+			}
+		}
                 
                 // override of toggleable state for required fields
                 if( name.equals( UserBehavior.BEHAVIOURNAME_FALL ) ||
@@ -146,14 +154,11 @@ public class BehaviorBuilder {
         if( frequency == 0 )
             return false;
 
-        for( final String condition : getConditions( ) )
+        for( final Condition condition : getConditions( ) )
         {
-            if( condition != null )
+            if( !condition.isSatisfied( context ) )
             {
-                if( !(Boolean)Variable.parse( condition ).get( context ) )
-                {
-                    return false;
-                }
+                return false;
             }
         }
 
@@ -186,7 +191,7 @@ public class BehaviorBuilder {
 		return this.params;
 	}
 	
-	private List<String> getConditions() {
+	private List<Condition> getConditions() {
 		return this.conditions;
 	}
 	
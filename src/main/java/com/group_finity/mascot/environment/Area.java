@@ -35,6 +35,8 @@ public class Area {
 
 	private final FloorCeiling bottomBorder = new FloorCeiling(this, true);
 
+	private volatile Area readOnly;
+
 	public boolean isVisible() {
 		return this.visible;
 	}
@@ -144,18 +146,58 @@ public class Area {
 		setBottom(value.y + value.height);
 	}
 
+	/**
+	 * Returns a view of this area that cannot be changed, for handing out to code that should only read it. The
+	 * view follows this area as it changes, and the same view is returned every time.
+	 */
+	public Area readOnly() {
+		Area view = readOnly;
+		if (view == null) {
+			synchronized (this) {
+				view = readOnly;
+				if (view == null) {
+					view = new ReadOnlyArea(this);
+					readOnly = view;
+				}
+			}
+		}
+		return view;
+	}
+
 	public boolean contains(final int x, final int y) {
 
 		return (getLeft() <= x) && (x <= getRight()) && (getTop() <= y) && (y <= getBottom());
 	}
 
+	/**
+	 * Same as {@link Rectangle#contains(Rectangle)} on both areas' rectangles, without creating them.
+	 */
+	public boolean contains(final Area other) {
+		if ((getWidth() | getHeight() | other.getWidth() | other.getHeight()) < 0) {
+			return false;
+		}
+		return getLeft() <= other.getLeft() && getTop() <= other.getTop()
+				&& other.getRight() <= getRight() && other.getBottom() <= getBottom();
+	}
+
+	/**
+	 * Same as {@link Rectangle#intersects(Rectangle)} on both areas' rectangles, without creating them.
+	 */
+	public boolean intersects(final Area other) {
+		if (getWidth() <= 0 || getHeight() <= 0 || other.getWidth() <= 0 || other.getHeight() <= 0) {
+			return false;
+		}
+		return other.getLeft() < getRight() && other.getTop() < getBottom()
+				&& getLeft() < other.getRight() && getTop() < other.getBottom();
+	}
+
 	public Rectangle toRectangle() {
-		return new Rectangle(left, top, right - left, bottom - top);
+		return new Rectangle(getLeft(), getTop(), getWidth(), getHeight());
 	}
 
 	@Override
 	public String toString() {
-		return "Area [left=" + left + ", top=" + top + ", right=" + right + ", bottom=" + bottom + "]";
+		return "Area [left=" + getLeft() + ", top=" + getTop() + ", right=" + getRight() + ", bottom=" + getBottom() + "]";
 	}
 
 }
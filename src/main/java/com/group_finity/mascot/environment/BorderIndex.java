@@ -0,0 +1,138 @@
+package com.group_finity.mascot.environment;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The borders of a set of areas, sorted by position so that the ones a point lies on are found by binary search.
+ * <p>
+ * Floors and ceilings are kept in order of their y coordinate and walls in order of their x coordinate. Borders on
+ * the same line are then told apart by their extent along it. The index refers to the areas' own borders, so queries
+ * allocate nothing and follow an area being hidden or shown, but it has to be rebuilt when an area moves or is resized.
+ * It never changes after it is built and may be read from any thread.
+ */
+public final class BorderIndex {
+
+	public static final BorderIndex EMPTY = new BorderIndex(List.of());
+
+	private final Edges<FloorCeiling> tops;
+
+	private final Edges<FloorCeiling> bottoms;
+
+	private final Edges<Wall> lefts;
+
+	private final Edges<Wall> rights;
+
+	public BorderIndex(final Collection<Area> areas) {
+		tops = new Edges<>(areas, Area::getTopBorder, FloorCeiling::getY, new FloorCeiling[0]);
+		bottoms = new Edges<>(areas, Area::getBottomBorder, FloorCeiling::getY, new FloorCeiling[0]);
+		lefts = new Edges<>(areas, Area::getLeftBorder, Wall::getX, new Wall[0]);
+		rights = new Edges<>(areas, Area::getRightBorder, Wall::getX, new Wall[0]);
+	}
+
+	/**
+	 * @return a visible top border the point is on, or null
+	 */
+	public FloorCeiling getTop(final Point location) {
+		return tops.find(location, location.y);
+	}
+
+	public FloorCeiling getBottom(final Point location) {
+		return bottoms.find(location, location.y);
+	}
+
+	public Wall getLeft(final Point location) {
+		return lefts.find(location, location.x);
+	}
+
+	public Wall getRight(final Point location) {
+		return rights.find(location, location.x);
+	}
+
+	/**
+	 * @return the top borders on the lines from low to high inclusive, ordered by y
+	 */
+	public List<FloorCeiling> getTops(final int low, final int high) {
+		return tops.between(low, high);
+	}
+
+	/**
+	 * @return the number of visible top and bottom borders the point is on
+	 */
+	public int countFloorsAndCeilings(final Point location) {
+		return tops.count(location, location.y) + bottoms.count(location, location.y);
+	}
+
+	/**
+	 * @return the number of visible left and right borders the point is on
+	 */
+	public int countWalls(final Point location) {
+		return lefts.count(location, location.x) + rights.count(location, location.x);
+	}
+
+	/**
+	 * Borders of one kind, sorted by the coordinate of the line they lie on.
+	 */
+	private static final class Edges<T extends Border> {
+
+		private final T[] borders;
+
+		private final int[] positions;
+
+		Edges(final Collection<Area> areas, final Function<Area, T> border, final ToIntFunction<T> position,
+				final T[] type) {
+			borders = areas.stream().map(border).sorted(Comparator.comparingInt(position)).toList().toArray(type);
+			positions = new int[borders.length];
+			for (int i = 0; i < borders.length; i++) {
+				positions[i] = position.applyAsInt(borders[i]);
+			}
+		}
+
+		/**
+		 * @return the index of the first border on the given line, or the length of the array if there is none
+		 */
+		private int first(final int position) {
+			int low = 0;
+			int high = positions.length;
+			while (low < high) {
+				final int middle = (low + high) >>> 1;
+				if (positions[middle] < position) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		List<T> between(final int low, final int high) {
+			final int from = first(low);
+			final int to = high == Integer.MAX_VALUE ? borders.length : first(high + 1);
+			return Arrays.asList(borders).subList(from, Math.max(from, to));
+		}
+
+		T find(final Point location, final int position) {
+			for (int i = first(position); i < positions.length && positions[i] == position; i++) {
+				if (borders[i].isOn(location)) {
+					return borders[i];
+				}
+			}
+			return null;
+		}
+
+		int count(final Point location, final int position) {
+			int count = 0;
+			for (int i = first(position); i < positions.length && positions[i] == position; i++) {
+				if (borders[i].isOn(location)) {
+					count++;
+				}
+			}
+			return count;
+		}
+	}
+}
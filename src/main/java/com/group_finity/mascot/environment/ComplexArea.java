@@ -15,21 +15,38 @@ public class ComplexArea {
 
 	private final Map<String, Area> areas = new HashMap<>();
 
+	/**
+	 * Borders of every area, rebuilt whenever one of them is added, removed, moved or resized.
+	 */
+	private volatile BorderIndex borders = BorderIndex.EMPTY;
+
 	public void set(Map<String, Rectangle> rectangles) {
-		retain(rectangles.keySet());
+		boolean changed = areas.keySet().removeIf(key -> !rectangles.containsKey(key));
 		for (Map.Entry<String, Rectangle> e : rectangles.entrySet()) {
-			set(e.getKey(), e.getValue());
+			changed |= update(e.getKey(), e.getValue());
+		}
+		if (changed) {
+			borders = new BorderIndex(areas.values());
 		}
 	}
 
 	public void set(String name, final Rectangle value) {
+		if (update(name, value)) {
+			borders = new BorderIndex(areas.values());
+		}
+	}
+
+	/**
+	 * @return false if an area with the same bounds already exists and nothing was changed
+	 */
+	private boolean update(String name, final Rectangle value) {
 
 		for (Area area : areas.values()) {
 			if ( area.getLeft()==value.x &&
 					area.getTop()==value.y &&
 					area.getWidth()==value.width &&
 					area.getHeight()==value.height ) {
-				return;
+				return false;
 			}
 		}
 
@@ -39,83 +56,48 @@ public class ComplexArea {
 			areas.put(name, area);
 		}
 		area.set(value);
+		return true;
 	}
 
 	public void retain(Collection<String> deviceNames) {
 
-        areas.keySet().removeIf(key -> !deviceNames.contains(key));
+		if (areas.keySet().removeIf(key -> !deviceNames.contains(key))) {
+			borders = new BorderIndex(areas.values());
+		}
 	}
 
 	public FloorCeiling getBottomBorder(Point location) {
-
-		FloorCeiling ret = null;
-
-		for (Area area : areas.values()) {
-			if (area.getBottomBorder().isOn(location)) {
-				ret = area.getBottomBorder();
-			}
-		}
-
-		for (Area area : areas.values()) {
-			if (area.getTopBorder().isOn(location)) {
-				ret = null;
-			}
-		}
-
-		return ret;
+		final BorderIndex borders = this.borders;
+		return borders.getTop(location) == null ? borders.getBottom(location) : null;
 	}
 
 	public FloorCeiling getTopBorder(Point location) {
-
-		FloorCeiling ret = null;
-
-		for (Area area : areas.values()) {
-			if (area.getTopBorder().isOn(location)) {
-				ret = area.getTopBorder();
-			}
-		}
-
-		for (Area area : areas.values()) {
-			if (area.getBottomBorder().isOn(location)) {
-				ret = null;
-			}
-		}
-
-		return ret;
+		final BorderIndex borders = this.borders;
+		return borders.getBottom(location) == null ? borders.getTop(location) : null;
 	}
 
 	public Wall getLeftBorder(Point location) {
-
-		Wall ret = null;
-
-		for (Area area : areas.values()) {
-			if (area.getLeftBorder().isOn(location)) {
-				ret = area.getRightBorder();
-			}
-		}
-		for (Area area : areas.values()) {
-			if (area.getRightBorder().isOn(location)) {
-				ret = null;
-			}
-		}
-		return ret;
+		final BorderIndex borders = this.borders;
+		return borders.getRight(location) == null ? borders.getLeft(location) : null;
 	}
 
 	public Wall getRightBorder(Point location) {
+		final BorderIndex borders = this.borders;
+		return borders.getLeft(location) == null ? borders.getRight(location) : null;
+	}
 
-		Wall ret = null;
+	/**
+	 * @return the number of screen tops and bottoms the location is on
+	 */
+	public int countFloorsAndCeilings(Point location) {
+		return borders.countFloorsAndCeilings(location);
+	}
 
-		for (Area area : areas.values()) {
-			if (area.getRightBorder().isOn(location)) {
-				ret = area.getRightBorder();
-			}
-		}
-		for (Area area : areas.values()) {
-			if (area.getLeftBorder().isOn(location)) {
-				ret = null;
-			}
-		}
-		return ret;
+	/**
+	 * @return the number of screen edges on the left or right the location is on
+	 */
+	public int countWalls(Point location) {
+		return borders.countWalls(location);
 	}
 
 	public Collection<Area> getAreas() {
@@ -32,7 +32,8 @@ public abstract class Environment
     
     public abstract void dispose( );
 
-    protected static Rectangle screenRect = new Rectangle( new Point(0, 0), Toolkit.getDefaultToolkit( ).getScreenSize( ) );
+    protected static Rectangle screenRect = GraphicsEnvironment.isHeadless( ) ? new Rectangle( )
+            : new Rectangle( new Point(0, 0), Toolkit.getDefaultToolkit( ).getScreenSize( ) );
 
     protected static Map<String, Rectangle> screenRects = new HashMap<>();
     
@@ -56,6 +57,8 @@ public abstract class Environment
 
     public final Location cursor = new Location( );
 
+    private volatile EnvironmentFrame frame;
+
     private static void updateScreenRect( )
     {
         Rectangle virtualBounds = new Rectangle( );
@@ -105,6 +108,31 @@ public abstract class Environment
         cursor.set( Environment.getCursorPos( ) );
     }
 
+    /**
+     * Updates the environment and publishes a new {@link EnvironmentFrame} for the tick that is starting.
+     * Called by the manager once per tick, before any mascot moves.
+     */
+    public final void advance( )
+    {
+        tick( );
+        frame = new EnvironmentFrame( this );
+    }
+
+    /**
+     * @return the frame published by the last {@link #advance( )}, or one describing the environment now if
+     * it has not been advanced yet
+     */
+    public EnvironmentFrame getFrame( )
+    {
+        EnvironmentFrame current = frame;
+        if( current == null )
+        {
+            current = new EnvironmentFrame( this );
+            frame = current;
+        }
+        return current;
+    }
+
     public Area getScreen( )
     {
         return screen;
@@ -115,6 +143,14 @@ public abstract class Environment
         return complexScreen.getAreas( );
     }
 
+    /**
+     * @return the borders of other windows that mascots can stand on, besides those of the active window
+     */
+    public BorderIndex getWindowBorders( )
+    {
+        return BorderIndex.EMPTY;
+    }
+
     public ComplexArea getComplexScreen( )
     {
         return complexScreen;
@@ -127,15 +163,7 @@ public abstract class Environment
 
     public boolean isScreenTopBottom( final Point location )
     {
-        int count = 0;
-
-        for( Area area: getScreens( ) )
-        {
-            if( area.getTopBorder( ).isOn( location ) )
-                ++count;
-            if( area.getBottomBorder( ).isOn( location ) )
-                ++count;
-        }
+        final int count = complexScreen.countFloorsAndCeilings( location );
 
         if( count==0 )
         {
@@ -150,15 +178,7 @@ public abstract class Environment
 
     public boolean isScreenLeftRight( final Point location )
     {
-        int count = 0;
-
-        for( Area area: getScreens( ) )
-        {   
-            if( area.getLeftBorder( ).isOn( location ) )
-                ++count;
-            if( area.getRightBorder( ).isOn( location ) )
-                ++count;
-        }
+        final int count = complexScreen.countWalls( location );
 
         if( count == 0 )
         {
@@ -0,0 +1,86 @@
+package com.group_finity.mascot.environment;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.group_finity.mascot.Main;
+
+/**
+ * What the mascots can see of the desktop during one tick: the screens, the work area, the windows,
+ * the cursor and the settings that decide how they are used.
+ * <p>
+ * A frame is published by {@link Environment#advance( )} at the start of every tick and never changes
+ * afterwards, so every mascot sees the same state and nothing has to be looked up again per query. The
+ * areas are {@link Area#readOnly( ) read-only views} of the environment's own, so nothing that reads a frame
+ * can change them. They show what the environment set while advancing, which holds until the next tick, and
+ * each view is the same object in every frame, so borders taken from them keep following the windows they
+ * belong to from tick to tick.
+ */
+public final class EnvironmentFrame
+{
+    /**
+     * Stands in for the active window when it is on another screen and Multiscreen is off. Nothing holds
+     * the area behind it, so it never changes.
+     */
+    static final Area NO_ACTIVE_IE = new Area( ).readOnly( );
+
+    private final Area screen;
+
+    private final Area workArea;
+
+    private final List<Area> screens;
+
+    private final Area activeIE;
+
+    private final BorderIndex windows;
+
+    private final Location cursor;
+
+    private final boolean multiscreen;
+
+    EnvironmentFrame( final Environment environment )
+    {
+        screen = environment.getScreen( ).readOnly( );
+        workArea = environment.getWorkArea( ).readOnly( );
+        screens = environment.getScreens( ).stream( ).map( Area::readOnly ).toList( );
+        activeIE = environment.getActiveIE( ).readOnly( );
+        windows = environment.getWindowBorders( );
+        cursor = environment.getCursor( );
+        multiscreen = Boolean.parseBoolean( Main.getInstance( ).getProperties( ).getProperty( "Multiscreen", "true" ) );
+    }
+
+    public Area getScreen( )
+    {
+        return screen;
+    }
+
+    public Area getWorkArea( )
+    {
+        return workArea;
+    }
+
+    public Collection<Area> getScreens( )
+    {
+        return screens;
+    }
+
+    public Area getActiveIE( )
+    {
+        return activeIE;
+    }
+
+    public BorderIndex getWindows( )
+    {
+        return windows;
+    }
+
+    public Location getCursor( )
+    {
+        return cursor;
+    }
+
+    public boolean isMultiscreen( )
+    {
+        return multiscreen;
+    }
+}
@@ -1,6 +1,5 @@
 package com.group_finity.mascot.environment;
 
-import com.group_finity.mascot.Main;
 import java.awt.Point;
 
 import com.group_finity.mascot.Mascot;
@@ -33,22 +32,30 @@ public class MascotEnvironment
 
     public Area getWorkArea( Boolean ignoreSettings )
     {
+        return getWorkArea( ignoreSettings, mascot.getAnchor( ) );
+    }
+
+    private Area getWorkArea( final boolean ignoreSettings, final Point anchor )
+    {
+        final EnvironmentFrame frame = impl.getFrame( );
+        final Area workArea = frame.getWorkArea( );
+
         if ( currentWorkArea != null )
         {
-            if( ignoreSettings || ( Boolean.parseBoolean( Main.getInstance( ).getProperties( ).getProperty( "Multiscreen", "true" ) ) ) )
+            if( ignoreSettings || frame.isMultiscreen( ) )
             {
                 // NOTE Windows
-                if( currentWorkArea != impl.getWorkArea( ) && currentWorkArea.toRectangle( ).contains( impl.getWorkArea( ).toRectangle( ) ) )
+                if( currentWorkArea != workArea && currentWorkArea.contains( workArea ) )
                 {
-                    if( impl.getWorkArea( ).contains( mascot.getAnchor( ).x, mascot.getAnchor( ).y ) )
+                    if( workArea.contains( anchor.x, anchor.y ) )
                     {
-                        currentWorkArea = impl.getWorkArea( );
+                        currentWorkArea = workArea;
                         return currentWorkArea;
                     }
                 }
 
                 // NOTE
-                if ( currentWorkArea.contains( mascot.getAnchor( ).x, mascot.getAnchor( ).y ) ) 
+                if ( currentWorkArea.contains( anchor.x, anchor.y ) ) 
                 {
                     return currentWorkArea;
                 }
@@ -56,31 +63,32 @@ public class MascotEnvironment
             else return currentWorkArea;
         }
 
-        if( impl.getWorkArea( ).contains( mascot.getAnchor( ).x, mascot.getAnchor( ).y ) )
+        if( workArea.contains( anchor.x, anchor.y ) )
         {
-            currentWorkArea = impl.getWorkArea( );
+            currentWorkArea = workArea;
             return currentWorkArea;
         }
 
-        for( Area area: impl.getScreens( ) )
+        for( Area area: frame.getScreens( ) )
         {
-            if ( area.contains( mascot.getAnchor( ).x, mascot.getAnchor( ).y ) )
+            if ( area.contains( anchor.x, anchor.y ) )
             {
                 currentWorkArea = area;
                 return currentWorkArea;
             }
         }
 
-        currentWorkArea = impl.getWorkArea( );
+        currentWorkArea = workArea;
         return currentWorkArea;
     }
 
     public Area getActiveIE( )
     {
-        Area activeIE = impl.getActiveIE( );
+        final EnvironmentFrame frame = impl.getFrame( );
+        final Area activeIE = frame.getActiveIE( );
         
-        if( currentWorkArea != null && !Boolean.parseBoolean( Main.getInstance( ).getProperties( ).getProperty( "Multiscreen", "true" ) ) && !currentWorkArea.toRectangle( ).intersects( activeIE.toRectangle( ) ) )
-            return new Area( );
+        if( currentWorkArea != null && !frame.isMultiscreen( ) && !currentWorkArea.intersects( activeIE ) )
+            return EnvironmentFrame.NO_ACTIVE_IE;
         
         return activeIE;
     }
@@ -97,15 +105,18 @@ public class MascotEnvironment
 
     public Border getCeiling( boolean ignoreSeparator )
     {
-        if( getActiveIE( ).getBottomBorder( ).isOn( mascot.getAnchor( ) ) )
+        final Point anchor = mascot.getAnchor( );
+        final Area activeIE = getActiveIE( );
+        if( activeIE.getBottomBorder( ).isOn( anchor ) )
         {
-            return getActiveIE( ).getBottomBorder( );
+            return activeIE.getBottomBorder( );
         }
-        if( getWorkArea( ).getTopBorder( ).isOn( mascot.getAnchor( ) ) )
+        final Area workArea = getWorkArea( );
+        if( workArea.getTopBorder( ).isOn( anchor ) )
         {
             if ( !ignoreSeparator || isScreenTopBottom( ) )
             {
-                    return getWorkArea( ).getTopBorder( );
+                    return workArea.getTopBorder( );
             }
         }
         return NotOnBorder.INSTANCE;
@@ -118,7 +129,7 @@ public class MascotEnvironment
 
     public Location getCursor( )
     {
-        return impl.getCursor( );
+        return impl.getFrame( ).getCursor( );
     }
 
     public Border getFloor( )
@@ -128,15 +139,23 @@ public class MascotEnvironment
 
     public Border getFloor( boolean ignoreSeparator )
     {
-        if( getActiveIE( ).getTopBorder( ).isOn( mascot.getAnchor( ) ) )
+        final Point anchor = mascot.getAnchor( );
+        final Area activeIE = getActiveIE( );
+        if( activeIE.getTopBorder( ).isOn( anchor ) )
         {
-            return getActiveIE( ).getTopBorder( );
+            return activeIE.getTopBorder( );
         }
-        if( getWorkArea( ).getBottomBorder( ).isOn( mascot.getAnchor( ) ) )
+        final FloorCeiling window = impl.getFrame( ).getWindows( ).getTop( anchor );
+        if( window != null )
+        {
+            return window;
+        }
+        final Area workArea = getWorkArea( );
+        if( workArea.getBottomBorder( ).isOn( anchor ) )
         {
             if( !ignoreSeparator || isScreenTopBottom( ) )
             {
-                return getWorkArea( ).getBottomBorder( );
+                return workArea.getBottomBorder( );
             }
         }
         return NotOnBorder.INSTANCE;
@@ -144,7 +163,7 @@ public class MascotEnvironment
 
     public Area getScreen( )
     {
-        return impl.getScreen( );
+        return impl.getFrame( ).getScreen( );
     }
 
     public Border getWall( )
@@ -154,33 +173,37 @@ public class MascotEnvironment
 
     public Border getWall( boolean ignoreSeparator )
     {
+        final Point anchor = mascot.getAnchor( );
+        final Area activeIE = getActiveIE( );
         if( mascot.isLookRight( ) )
         {
-            if( getActiveIE( ).getLeftBorder( ).isOn( mascot.getAnchor( ) ) )
+            if( activeIE.getLeftBorder( ).isOn( anchor ) )
             {
-                return getActiveIE( ).getLeftBorder( );
+                return activeIE.getLeftBorder( );
             }
 
-            if( getWorkArea( ).getRightBorder( ).isOn( mascot.getAnchor( ) ) )
+            final Area workArea = getWorkArea( );
+            if( workArea.getRightBorder( ).isOn( anchor ) )
             {
                 if( !ignoreSeparator || isScreenLeftRight( ) )
                 {
-                    return getWorkArea( ).getRightBorder( );
+                    return workArea.getRightBorder( );
                 }
             }
         }
         else
         {
-            if( getActiveIE( ).getRightBorder( ).isOn( mascot.getAnchor( ) ) )
+            if( activeIE.getRightBorder( ).isOn( anchor ) )
             {
-                return getActiveIE( ).getRightBorder( );
+                return activeIE.getRightBorder( );
             }
 
-            if( getWorkArea( ).getLeftBorder( ).isOn( mascot.getAnchor( ) ) )
+            final Area workArea = getWorkArea( );
+            if( workArea.getLeftBorder( ).isOn( anchor ) )
             {
                 if( !ignoreSeparator || isScreenLeftRight( ) )
                 {
-                    return getWorkArea( ).getLeftBorder( );
+                    return workArea.getLeftBorder( );
                 }
             }
         }
@@ -188,6 +211,133 @@ public class MascotEnvironment
         return NotOnBorder.INSTANCE;
     }
 
+    /**
+     * Follows the line from the anchor by ( dx, dy ) in steps of at most a pixel along either axis and finds
+     * where the mascot first lands on a floor, when moving down, or touches the wall it is facing. Floors and
+     * walls are the ones {@link #getFloor( boolean )} and {@link #getWall( boolean )} would return with the
+     * separators between screens ignored, and a floor up to 80 pixels above the line catches the mascot too,
+     * so it is not lost under a window that has just been raised.
+     * <p>
+     * Each border is intersected with the line as a whole rather than tested at every step.
+     *
+     * @return where the mascot stops, which is the end of the line if nothing is in the way
+     */
+    public Point sweep( final int dx, final int dy )
+    {
+        final Sweep line = new Sweep( mascot.getAnchor( ), dx, dy );
+        final boolean lookRight = mascot.isLookRight( );
+
+        int from = 0;
+        while( true )
+        {
+            final Point start = line.at( from );
+            final Area workArea = getWorkArea( false, start );
+            final Area activeIE = getActiveIE( );
+
+            // The rest of the line is checked against the next work area once it leaves this one
+            int to = line.getSteps( );
+            if( workArea.contains( start.x, start.y ) )
+            {
+                to = line.alongX( from, to, workArea.getLeft( ), workArea.getRight( ) )
+                        .intersect( line.alongY( from, to, workArea.getTop( ), workArea.getBottom( ) ) ).last( );
+            }
+
+            int stop = to + 1;
+            int floor = 0;
+            boolean landed = false;
+            if( dy > 0 )
+            {
+                final Sweep.Steps onIE = landing( line, from, to, activeIE.getTopBorder( ) );
+                if( !onIE.isEmpty( ) )
+                {
+                    stop = onIE.first( );
+                    floor = activeIE.getTop( );
+                    landed = true;
+                }
+
+                final int last = Math.min( to, stop );
+                for( final FloorCeiling window : impl.getFrame( ).getWindows( ).getTops( line.y( from ) - 80, line.y( last ) ) )
+                {
+                    final Sweep.Steps onWindow = landing( line, from, last, window );
+                    if( !onWindow.isEmpty( ) && ( onWindow.first( ) < stop || onWindow.first( ) == stop && window.getY( ) < floor ) )
+                    {
+                        stop = onWindow.first( );
+                        floor = window.getY( );
+                        landed = true;
+                    }
+                }
+
+                final FloorCeiling bottom = workArea.getBottomBorder( );
+                final Sweep.Steps onScreen = landing( line, from, Math.min( to, stop ), bottom );
+                for( int step = onScreen.first( ); step <= onScreen.last( ); step++ )
+                {
+                    if( ( step < stop || bottom.getY( ) < floor ) && impl.isScreenTopBottom( new Point( line.x( step ), bottom.getY( ) ) ) )
+                    {
+                        stop = step;
+                        floor = bottom.getY( );
+                        landed = true;
+                        break;
+                    }
+                }
+            }
+
+            // At the same step a floor wins, as it is looked for first
+            final Sweep.Steps againstIE = contact( line, from, stop - 1, lookRight ? activeIE.getLeftBorder( ) : activeIE.getRightBorder( ) );
+            if( !againstIE.isEmpty( ) )
+            {
+                stop = againstIE.first( );
+                landed = false;
+            }
+
+            final Sweep.Steps againstScreen = contact( line, from, stop - 1, lookRight ? workArea.getRightBorder( ) : workArea.getLeftBorder( ) );
+            for( int step = againstScreen.first( ); step <= againstScreen.last( ); step++ )
+            {
+                if( impl.isScreenLeftRight( line.at( step ) ) )
+                {
+                    stop = step;
+                    landed = false;
+                    break;
+                }
+            }
+
+            if( stop <= to )
+            {
+                return landed ? new Point( line.x( stop ), floor ) : line.at( stop );
+            }
+            if( to >= line.getSteps( ) )
+            {
+                return line.at( line.getSteps( ) );
+            }
+            from = to + 1;
+        }
+    }
+
+    /**
+     * @return the steps at which the floor is under the line or no more than 80 pixels above it
+     */
+    private static Sweep.Steps landing( final Sweep line, final int from, final int to, final FloorCeiling floor )
+    {
+        if( !floor.getArea( ).isVisible( ) )
+        {
+            return new Sweep.Steps( from, from - 1 );
+        }
+        return line.alongX( from, to, floor.getLeft( ), floor.getRight( ) )
+                .intersect( line.alongY( from, to, floor.getY( ), floor.getY( ) + 80 ) );
+    }
+
+    /**
+     * @return the steps at which the line is on the wall
+     */
+    private static Sweep.Steps contact( final Sweep line, final int from, final int to, final Wall wall )
+    {
+        if( !wall.getArea( ).isVisible( ) )
+        {
+            return new Sweep.Steps( from, from - 1 );
+        }
+        return line.alongX( from, to, wall.getX( ), wall.getX( ) )
+                .intersect( line.alongY( from, to, wall.getTop( ), wall.getBottom( ) ) );
+    }
+
     public void moveActiveIE( Point point )
     {
         impl.moveActiveIE( point );
@@ -0,0 +1,118 @@
+package com.group_finity.mascot.environment;
+
+import java.awt.Rectangle;
+
+/**
+ * An area that shows the current bounds and visibility of another one but cannot be changed itself.
+ * Its borders read through to the other area too, so they keep following it as it moves.
+ *
+ * @see Area#readOnly()
+ */
+public final class ReadOnlyArea extends Area {
+
+	private final Area area;
+
+	ReadOnlyArea(final Area area) {
+		this.area = area;
+	}
+
+	@Override
+	public Area readOnly() {
+		return this;
+	}
+
+	@Override
+	public boolean isVisible() {
+		return area.isVisible();
+	}
+
+	@Override
+	public void setVisible(final boolean visible) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getLeft() {
+		return area.getLeft();
+	}
+
+	@Override
+	public void setLeft(final int left) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getTop() {
+		return area.getTop();
+	}
+
+	@Override
+	public void setTop(final int top) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getRight() {
+		return area.getRight();
+	}
+
+	@Override
+	public void setRight(final int right) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getBottom() {
+		return area.getBottom();
+	}
+
+	@Override
+	public void setBottom(final int bottom) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getDleft() {
+		return area.getDleft();
+	}
+
+	@Override
+	public void setDleft(final int dleft) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getDtop() {
+		return area.getDtop();
+	}
+
+	@Override
+	public void setDtop(final int dtop) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getDright() {
+		return area.getDright();
+	}
+
+	@Override
+	public void setDright(final int dright) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getDbottom() {
+		return area.getDbottom();
+	}
+
+	@Override
+	public void setDbottom(final int dbottom) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(final Rectangle value) {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,107 @@
+package com.group_finity.mascot.environment;
+
+import java.awt.Point;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A straight line walked in steps of at most one pixel along either axis, the way falling mascots move.
+ * <p>
+ * Both coordinates only ever move one way along the line, so the steps at which a coordinate lies in a range
+ * form one run that is found by binary search instead of by visiting every step.
+ */
+final class Sweep {
+
+	/**
+	 * A run of steps from first to last inclusive, empty when first is after last.
+	 */
+	record Steps(int first, int last) {
+
+		boolean isEmpty() {
+			return first > last;
+		}
+
+		Steps intersect(final Steps other) {
+			return new Steps(Math.max(first, other.first), Math.min(last, other.last));
+		}
+	}
+
+	private final int x;
+
+	private final int y;
+
+	private final int dx;
+
+	private final int dy;
+
+	private final int steps;
+
+	Sweep(final Point from, final int dx, final int dy) {
+		x = from.x;
+		y = from.y;
+		this.dx = dx;
+		this.dy = dy;
+		steps = Math.max(1, Math.max(Math.abs(dx), Math.abs(dy)));
+	}
+
+	/**
+	 * @return the index of the last step, which is at the end of the line
+	 */
+	int getSteps() {
+		return steps;
+	}
+
+	int x(final int step) {
+		return x + (int) ((long) dx * step / steps);
+	}
+
+	int y(final int step) {
+		return y + (int) ((long) dy * step / steps);
+	}
+
+	Point at(final int step) {
+		return new Point(x(step), y(step));
+	}
+
+	/**
+	 * @return the steps between from and to at which x lies between low and high inclusive
+	 */
+	Steps alongX(final int from, final int to, final int low, final int high) {
+		return along(from, to, low, high, dx, this::x);
+	}
+
+	/**
+	 * @return the steps between from and to at which y lies between low and high inclusive
+	 */
+	Steps alongY(final int from, final int to, final int low, final int high) {
+		return along(from, to, low, high, dy, this::y);
+	}
+
+	private static Steps along(final int from, final int to, final int low, final int high, final int delta,
+			final IntUnaryOperator coordinate) {
+		if (delta >= 0) {
+			return new Steps(first(from, to, step -> coordinate.applyAsInt(step) >= low),
+					first(from, to, step -> coordinate.applyAsInt(step) > high) - 1);
+		}
+		return new Steps(first(from, to, step -> coordinate.applyAsInt(step) <= high),
+				first(from, to, step -> coordinate.applyAsInt(step) < low) - 1);
+	}
+
+	/**
+	 * @param test false up to some step and true from then on
+	 * @return the first step between from and to that passes the test, or to + 1 if none does
+	 */
+	private static int first(final int from, final int to, final IntPredicate test) {
+		int low = from;
+		int high = to + 1;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (test.test(middle)) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,178 @@
+package com.group_finity.mascot.headless;
+
+import com.group_finity.mascot.Main;
+import com.group_finity.mascot.environment.Area;
+import com.group_finity.mascot.environment.Environment;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A synthetic desktop made of fixed screens and at most one window.
+ * <p>
+ * The layout is read from the settings when the environment is created:
+ * <ul>
+ * <li>{@code HeadlessScreens} - comma separated screens as {@code WIDTHxHEIGHT} or {@code WIDTHxHEIGHT+X+Y}.
+ * Screens without a position are placed to the right of the previous one. Defaults to {@code 1920x1080}.</li>
+ * <li>{@code HeadlessWindow} - the active window as {@code WIDTHxHEIGHT+X+Y}, or empty for none.</li>
+ * </ul>
+ * The layout and the cursor position can also be changed later through the setters, for example by a benchmark.
+ */
+public class HeadlessEnvironment extends Environment {
+    private static final Logger log = Logger.getLogger(HeadlessEnvironment.class.getName());
+
+    private final Area activeIE = new Area();
+
+    private volatile Map<String, Rectangle> screens;
+
+    private volatile Rectangle screenBounds;
+
+    /**
+     * The window as it was configured, used by {@link #restoreIE()}.
+     */
+    private volatile Rectangle window;
+
+    /**
+     * The window as it currently is, after being thrown around.
+     */
+    private volatile Rectangle movedWindow;
+
+    private volatile Point cursorPosition = new Point(0, 0);
+
+    HeadlessEnvironment() {
+        List<Rectangle> screens = parseScreens(Main.getInstance().getProperties().getProperty("HeadlessScreens", "1920x1080"));
+        if (screens.isEmpty()) {
+            screens = List.of(new Rectangle(0, 0, 1920, 1080));
+        }
+        setScreens(screens);
+
+        final String window = Main.getInstance().getProperties().getProperty("HeadlessWindow", "").trim();
+        if (!window.isEmpty()) {
+            final List<Rectangle> windows = parseScreens(window);
+            setActiveWindow(windows.isEmpty() ? null : windows.get(0));
+        }
+    }
+
+    private static List<Rectangle> parseScreens(final String value) {
+        final List<Rectangle> screens = new ArrayList<>();
+        int nextX = 0;
+        for (final String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            try {
+                final String[] position = entry.trim().split("\\+");
+                final String[] size = position[0].split("x");
+                final Rectangle screen = new Rectangle(nextX, 0, Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+                if (position.length == 3) {
+                    screen.setLocation(Integer.parseInt(position[1].trim()), Integer.parseInt(position[2].trim()));
+                }
+                screens.add(screen);
+                nextX = screen.x + screen.width;
+            } catch (final RuntimeException e) {
+                log.log(Level.WARNING, "Ignoring invalid headless screen or window \"{0}\"", entry);
+            }
+        }
+        return screens;
+    }
+
+    /**
+     * Replaces the screens. The change is picked up on the next tick.
+     */
+    public void setScreens(final List<Rectangle> screens) {
+        final Map<String, Rectangle> rects = new LinkedHashMap<>();
+        Rectangle bounds = new Rectangle();
+        for (int i = 0; i < screens.size(); i++) {
+            final Rectangle screen = new Rectangle(screens.get(i));
+            rects.put("headless" + i, screen);
+            bounds = i == 0 ? new Rectangle(screen) : bounds.union(screen);
+        }
+        this.screens = Collections.unmodifiableMap(rects);
+        this.screenBounds = bounds;
+
+        // Keep the shared screen rectangle in line for anything that reads it directly
+        screenRect = new Rectangle(bounds);
+        screenRects = new LinkedHashMap<>(rects);
+    }
+
+    /**
+     * Sets the window mascots can land on and throw, or null for none.
+     */
+    public void setActiveWindow(final Rectangle window) {
+        this.window = window == null ? null : new Rectangle(window);
+        this.movedWindow = this.window;
+    }
+
+    public void setCursorPosition(final Point position) {
+        this.cursorPosition = new Point(position);
+    }
+
+    @Override
+    public void init() {
+        // Nothing to poll, so the screen thread is not needed
+        tick();
+    }
+
+    @Override
+    public void tick() {
+        screen.set(screenBounds);
+        complexScreen.set(screens);
+        cursor.set(cursorPosition);
+
+        final Rectangle ie = movedWindow;
+        if (ie != null) {
+            activeIE.set(ie);
+            activeIE.setVisible(true);
+        } else {
+            activeIE.setVisible(false);
+        }
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    @Override
+    public void moveActiveIE(final Point point) {
+        final Rectangle ie = movedWindow;
+        if (ie != null) {
+            movedWindow = new Rectangle(point.x, point.y, ie.width, ie.height);
+        }
+    }
+
+    @Override
+    public void restoreIE() {
+        movedWindow = window;
+    }
+
+    @Override
+    public Area getWorkArea() {
+        return getScreen();
+    }
+
+    @Override
+    public Area getActiveIE() {
+        return activeIE;
+    }
+
+    @Override
+    public String getActiveIETitle() {
+        return movedWindow == null ? null : "Headless";
+    }
+
+    @Override
+    public long getActiveWindowId() {
+        return movedWindow == null ? 0 : 1;
+    }
+
+    @Override
+    public void refreshCache() {
+    }
+}
@@ -0,0 +1,26 @@
+package com.group_finity.mascot.headless;
+
+import com.group_finity.mascot.image.NativeImage;
+
+/**
+ * An image that only remembers its size. The pixels are dropped as soon as the image is loaded.
+ */
+class HeadlessNativeImage implements NativeImage {
+
+    private final int width;
+
+    private final int height;
+
+    HeadlessNativeImage(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
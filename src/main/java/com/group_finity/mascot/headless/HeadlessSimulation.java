@@ -0,0 +1,124 @@
+package com.group_finity.mascot.headless;
+
+import com.group_finity.mascot.Main;
+import com.group_finity.mascot.Manager;
+import com.group_finity.mascot.Mascot;
+import com.group_finity.mascot.NativeFactory;
+import com.group_finity.mascot.exception.BehaviorInstantiationException;
+import com.group_finity.mascot.exception.CantBeAliveException;
+import com.group_finity.mascot.script.Condition;
+import com.group_finity.mascot.script.Script;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs mascots against the headless environment without any windows, as fast as the behaviour engine allows.
+ * <p>
+ * Configurations are loaded through {@link Main} so that actions looking them up by image set work as usual,
+ * but the mascots live in a manager of their own that is ticked by the caller rather than by a timer.
+ * <p>
+ * Can also be run from the command line: {@code HeadlessSimulation <imageSet> [mascots] [ticks]}.
+ */
+public class HeadlessSimulation {
+
+    private final Manager manager = new Manager();
+
+    public HeadlessSimulation() {
+        Main.getInstance().getProperties().setProperty("Environment", "headless");
+        NativeFactory.resetInstance();
+        manager.setExitOnLastRemoved(false);
+    }
+
+    /**
+     * Loads the configuration of an image set if it has not been loaded yet.
+     *
+     * @return false if the configuration could not be loaded
+     */
+    public boolean load(final String imageSet) {
+        return Main.getInstance().getConfiguration(imageSet) != null || Main.getInstance().loadConfiguration(imageSet);
+    }
+
+    /**
+     * Creates a mascot the same way the tray menu does, and adds it on the next tick.
+     */
+    public Mascot spawn(final String imageSet) throws BehaviorInstantiationException, CantBeAliveException {
+        final Mascot mascot = new Mascot(imageSet);
+
+        // Create it outside the bounds of the screen
+        mascot.setAnchor(new Point(-4000, -4000));
+
+        // Randomize the initial orientation
+        mascot.setLookRight(Math.random() < 0.5);
+
+        try {
+            mascot.setBehavior(Main.getInstance().getConfiguration(imageSet).buildNextBehavior(null, mascot));
+        } catch (final BehaviorInstantiationException | CantBeAliveException e) {
+            mascot.dispose();
+            throw e;
+        }
+        manager.add(mascot);
+        return mascot;
+    }
+
+    public void spawn(final String imageSet, final int count) throws BehaviorInstantiationException, CantBeAliveException {
+        for (int i = 0; i < count; i++) {
+            spawn(imageSet);
+        }
+    }
+
+    public void tick() {
+        manager.tick();
+    }
+
+    public void tick(final int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            manager.tick();
+        }
+    }
+
+    public Manager getManager() {
+        return manager;
+    }
+
+    public HeadlessEnvironment getEnvironment() {
+        return (HeadlessEnvironment) NativeFactory.getInstance().getEnvironment();
+    }
+
+    /**
+     * Disposes of every mascot in the simulation.
+     */
+    public void dispose() {
+        manager.disposeAll();
+        manager.tick();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: HeadlessSimulation <imageSet> [mascots] [ticks]");
+            System.exit(1);
+        }
+        final String imageSet = args[0];
+        final int mascots = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        final int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        final HeadlessSimulation simulation = new HeadlessSimulation();
+        if (!simulation.load(imageSet)) {
+            System.err.println("Could not load image set " + imageSet);
+            System.exit(1);
+        }
+        simulation.spawn(imageSet, mascots);
+        simulation.tick();
+
+        final long start = System.nanoTime();
+        simulation.tick(ticks);
+        final long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d mascots, %d ticks in %d ms (%.1f ticks/s, %d alive)%n", mascots, ticks,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), ticks * 1e9 / elapsed, simulation.getManager().getCount());
+        System.out.printf("%d conditions compiled, %d compilations saved%n", Condition.getCompileCount(),
+                Condition.getSavedCompileCount());
+        System.out.print(Script.getFastPathReport());
+        System.exit(0);
+    }
+}
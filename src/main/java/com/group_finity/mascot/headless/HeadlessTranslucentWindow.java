@@ -0,0 +1,49 @@
+package com.group_finity.mascot.headless;
+
+import com.group_finity.mascot.image.NativeImage;
+import com.group_finity.mascot.image.TranslucentWindow;
+
+import java.awt.Component;
+
+/**
+ * A window that keeps track of its bounds and image but is never shown.
+ * <p>
+ * A lightweight component is used because it can be created, moved and listened to without a display.
+ */
+class HeadlessTranslucentWindow extends Component implements TranslucentWindow {
+
+    private static final long serialVersionUID = 1L;
+
+    private HeadlessNativeImage image;
+
+    @Override
+    public Component asComponent() {
+        return this;
+    }
+
+    public HeadlessNativeImage getImage() {
+        return image;
+    }
+
+    @Override
+    public void setImage(final NativeImage image) {
+        this.image = (HeadlessNativeImage) image;
+    }
+
+    @Override
+    public void updateImage() {
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    @Override
+    public void setAlwaysOnTop(final boolean onTop) {
+    }
+
+    @Override
+    public String toString() {
+        return "HeadlessTranslucentWindow[hashCode=" + hashCode() + ",bounds=" + getBounds() + "]";
+    }
+}
@@ -0,0 +1,32 @@
+package com.group_finity.mascot.headless;
+
+import com.group_finity.mascot.NativeFactory;
+import com.group_finity.mascot.environment.Environment;
+import com.group_finity.mascot.image.NativeImage;
+import com.group_finity.mascot.image.TranslucentWindow;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A native factory that never touches the display, so that mascots can be simulated on machines without one.
+ *
+ * @see HeadlessSimulation
+ */
+public class NativeFactoryImpl extends NativeFactory {
+    private final HeadlessEnvironment environment = new HeadlessEnvironment();
+
+    @Override
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    @Override
+    public NativeImage newNativeImage(final BufferedImage src) {
+        return new HeadlessNativeImage(src.getWidth(), src.getHeight());
+    }
+
+    @Override
+    public TranslucentWindow newTransparentWindow() {
+        return new HeadlessTranslucentWindow();
+    }
+}
@@ -0,0 +1,86 @@
+package com.group_finity.mascot.script;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.group_finity.mascot.exception.VariableException;
+
+/**
+ * A behavior condition, parsed and compiled once when the configuration is loaded.
+ * <p>
+ * Unlike a {@link Variable}, a condition keeps no value between evaluations, so the same condition can be
+ * evaluated any number of times, for any mascot and from any thread, without being reset in between.
+ */
+public final class Condition {
+
+	/**
+	 * Number of script conditions compiled.
+	 */
+	private static final LongAdder compiled = new LongAdder();
+
+	/**
+	 * Number of times a script condition was evaluated. Each of these used to compile the script again.
+	 */
+	private static final LongAdder evaluated = new LongAdder();
+
+	private final String source;
+
+	private final Variable variable;
+
+	/**
+	 * Why the condition could not be compiled, reported every time it is evaluated, or null if it compiled.
+	 */
+	private final VariableException error;
+
+	private Condition(final String source, final Variable variable, final VariableException error) {
+		this.source = source;
+		this.variable = variable;
+		this.error = error;
+	}
+
+	/**
+	 * Compiles a condition. A condition that does not compile is still returned, and fails when it is evaluated,
+	 * so that a broken condition only rules out the behavior it belongs to.
+	 */
+	public static Condition compile(final String source) {
+		try {
+			final Variable variable = Variable.parse(source);
+			if (variable instanceof Script) {
+				compiled.increment();
+			}
+			return new Condition(source, variable, null);
+		} catch (final VariableException e) {
+			return new Condition(source, null, e);
+		}
+	}
+
+	public boolean isSatisfied(final VariableMap context) throws VariableException {
+		if (error != null) {
+			throw new VariableException(error.getMessage(), error);
+		}
+		if (variable instanceof Script script) {
+			evaluated.increment();
+			return (Boolean) script.evaluate(context);
+		}
+		return (Boolean) variable.get(context);
+	}
+
+	@Override
+	public String toString() {
+		return source;
+	}
+
+	/**
+	 * @return the number of script conditions compiled so far
+	 */
+	public static long getCompileCount() {
+		return compiled.sum();
+	}
+
+	/**
+	 * @return the number of compilations saved by reusing compiled conditions, which is how many times a script
+	 * condition was evaluated without being compiled again
+	 */
+	public static long getSavedCompileCount() {
+		return Math.max(0, evaluated.sum() - compiled.sum());
+	}
+}
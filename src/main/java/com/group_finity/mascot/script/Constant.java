@@ -22,6 +22,11 @@ public class Constant extends Variable {
 		return this.value;
 	}
 	
+	@Override
+	public Variable newInstance() {
+		return this;
+	}
+
 	@Override
 	public void init() {
 	}
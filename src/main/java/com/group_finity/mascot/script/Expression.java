@@ -0,0 +1,540 @@
+package com.group_finity.mascot.script;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.mozilla.javascript.Scriptable;
+
+import com.group_finity.mascot.exception.VariableException;
+
+/**
+ * A script compiled to a tree of Java evaluators, for the small expressions that behaviour and action files are
+ * mostly made of, such as {@code mascot.environment.floor.isOn(mascot.anchor)} or {@code Math.random() < 0.5}.
+ * <p>
+ * Literals, variables, reading properties of and calling query methods on Java objects, a few {@code Math}
+ * functions, arithmetic, comparisons, and the logical and conditional operators are supported. Values are the ones
+ * Rhino would hand back for the same script, so a caller cannot tell which ran. Whenever a value turns up that would
+ * take more of JavaScript than is implemented here to get right, such as adding a string or calling an overloaded
+ * method, evaluating throws {@link Unsupported} and the script has to be run by Rhino instead. Since that runs it
+ * again from the start, the parser leaves out any call that could change something.
+ */
+final class Expression {
+
+	/**
+	 * Thrown when the expression meets a value it does not handle the way JavaScript would.
+	 */
+	static final class Unsupported extends RuntimeException {
+
+		static final Unsupported INSTANCE = new Unsupported();
+
+		private Unsupported() {
+			super(null, null, false, false);
+		}
+	}
+
+	interface Node {
+
+		Object evaluate(VariableMap variables);
+	}
+
+	/**
+	 * A property or method of a class, as a handle taking the object and an array of arguments.
+	 */
+	private record Member(MethodHandle handle, Class<?> type, Class<?>[] parameters) {
+
+		static final Member NONE = new Member(null, null, null);
+	}
+
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+
+	private static final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+	private final Node root;
+
+	private Expression(final Node root) {
+		this.root = root;
+	}
+
+	/**
+	 * @return the compiled expression, or null if the source uses anything that is not supported
+	 */
+	static Expression compile(final String source) {
+		final Node root = new ExpressionParser(source).parse();
+		return root == null ? null : new Expression(root);
+	}
+
+	Object evaluate(final VariableMap variables) {
+		return root.evaluate(variables);
+	}
+
+	static Node literal(final Object value) {
+		return variables -> value;
+	}
+
+	static Node variable(final String name) {
+		return variables -> {
+			final Variable variable = variables == null ? null : variables.getRawMap().get(name);
+			if (variable == null) {
+				throw Unsupported.INSTANCE;
+			}
+			final Object value;
+			try {
+				value = VariableScope.valueOf(variable, variables);
+			} catch (final VariableException | RuntimeException e) {
+				throw Unsupported.INSTANCE;
+			}
+			// Undefined names are an error, and anything Rhino wraps specially is left to it
+			if (value == null || value instanceof Character || value instanceof Scriptable || value instanceof Class) {
+				throw Unsupported.INSTANCE;
+			}
+			return value;
+		};
+	}
+
+	static Node property(final Node target, final String name) {
+		final ClassValue<Member> getters = new ClassValue<>() {
+			@Override
+			protected Member computeValue(final Class<?> type) {
+				return getter(type, name);
+			}
+		};
+		return variables -> {
+			final Object object = object(target.evaluate(variables));
+			final Member getter = getters.get(object.getClass());
+			return invoke(getter, object, NO_ARGUMENTS);
+		};
+	}
+
+	static Node call(final Node target, final String name, final List<Node> arguments) {
+		final Node[] nodes = arguments.toArray(new Node[0]);
+		final ClassValue<Member> methods = new ClassValue<>() {
+			@Override
+			protected Member computeValue(final Class<?> type) {
+				return method(type, name, nodes.length);
+			}
+		};
+		return variables -> {
+			final Object object = object(target.evaluate(variables));
+			final Member method = methods.get(object.getClass());
+			if (method == Member.NONE) {
+				throw Unsupported.INSTANCE;
+			}
+			final Object[] values = new Object[nodes.length];
+			for (int index = 0; index < nodes.length; index++) {
+				values[index] = toJava(nodes[index].evaluate(variables), method.parameters()[index]);
+			}
+			return invoke(method, object, values);
+		};
+	}
+
+	/**
+	 * @return a call to one of the supported Math functions, or null if the function or the number of arguments is
+	 * not supported
+	 */
+	static Node math(final String function, final List<Node> arguments) {
+		final Node[] nodes = arguments.toArray(new Node[0]);
+		if (function.equals("random")) {
+			if (nodes.length != 0) {
+				return null;
+			}
+			return variables -> {
+				checkMath(variables);
+				return Math.random();
+			};
+		}
+		if (function.equals("min") || function.equals("max")) {
+			if (nodes.length == 0) {
+				return null;
+			}
+			final boolean min = function.equals("min");
+			return variables -> {
+				checkMath(variables);
+				double result = number(nodes[0].evaluate(variables));
+				for (int index = 1; index < nodes.length; index++) {
+					final double value = number(nodes[index].evaluate(variables));
+					result = min ? Math.min(result, value) : Math.max(result, value);
+				}
+				return result;
+			};
+		}
+		if (nodes.length != 1) {
+			return null;
+		}
+		final Node argument = nodes[0];
+		return switch (function) {
+			case "abs" -> variables -> {
+				checkMath(variables);
+				return Math.abs(number(argument.evaluate(variables)));
+			};
+			case "floor" -> variables -> {
+				checkMath(variables);
+				return Math.floor(number(argument.evaluate(variables)));
+			};
+			case "ceil" -> variables -> {
+				checkMath(variables);
+				return Math.ceil(number(argument.evaluate(variables)));
+			};
+			case "round" -> variables -> {
+				checkMath(variables);
+				return round(number(argument.evaluate(variables)));
+			};
+			case "sqrt" -> variables -> {
+				checkMath(variables);
+				return Math.sqrt(number(argument.evaluate(variables)));
+			};
+			case "sign" -> variables -> {
+				checkMath(variables);
+				return Math.signum(number(argument.evaluate(variables)));
+			};
+			default -> null;
+		};
+	}
+
+	static Node unary(final String operator, final Node operand) {
+		return switch (operator) {
+			case "!" -> variables -> !isTrue(operand.evaluate(variables));
+			case "-" -> variables -> -number(operand.evaluate(variables));
+			default -> variables -> number(operand.evaluate(variables));
+		};
+	}
+
+	static Node binary(final String operator, final Node left, final Node right) {
+		return switch (operator) {
+			case "+" -> variables -> number(left.evaluate(variables)) + number(right.evaluate(variables));
+			case "-" -> variables -> number(left.evaluate(variables)) - number(right.evaluate(variables));
+			case "*" -> variables -> number(left.evaluate(variables)) * number(right.evaluate(variables));
+			case "/" -> variables -> number(left.evaluate(variables)) / number(right.evaluate(variables));
+			case "%" -> variables -> number(left.evaluate(variables)) % number(right.evaluate(variables));
+			case "<" -> variables -> compare(left.evaluate(variables), right.evaluate(variables), false);
+			case "<=" -> variables -> compare(left.evaluate(variables), right.evaluate(variables), true);
+			case ">" -> variables -> {
+				final Object value = left.evaluate(variables);
+				return compare(right.evaluate(variables), value, false);
+			};
+			case ">=" -> variables -> {
+				final Object value = left.evaluate(variables);
+				return compare(right.evaluate(variables), value, true);
+			};
+			case "==" -> variables -> equals(left.evaluate(variables), right.evaluate(variables), false);
+			case "!=" -> variables -> !equals(left.evaluate(variables), right.evaluate(variables), false);
+			case "===" -> variables -> equals(left.evaluate(variables), right.evaluate(variables), true);
+			default -> variables -> !equals(left.evaluate(variables), right.evaluate(variables), true);
+		};
+	}
+
+	static Node and(final Node left, final Node right) {
+		return variables -> {
+			final Object value = left.evaluate(variables);
+			return isTrue(value) ? right.evaluate(variables) : value;
+		};
+	}
+
+	static Node or(final Node left, final Node right) {
+		return variables -> {
+			final Object value = left.evaluate(variables);
+			return isTrue(value) ? value : right.evaluate(variables);
+		};
+	}
+
+	static Node conditional(final Node condition, final Node whenTrue, final Node whenFalse) {
+		return variables -> isTrue(condition.evaluate(variables)) ? whenTrue.evaluate(variables) : whenFalse.evaluate(variables);
+	}
+
+	/**
+	 * A script could name one of its variables Math, in which case it means that variable.
+	 */
+	private static void checkMath(final VariableMap variables) {
+		if (variables != null && variables.getRawMap().containsKey("Math")) {
+			throw Unsupported.INSTANCE;
+		}
+	}
+
+	private static double number(final Object value) {
+		if (value instanceof Number number) {
+			return number.doubleValue();
+		}
+		throw Unsupported.INSTANCE;
+	}
+
+	private static boolean isPrimitive(final Object value) {
+		return value instanceof Number || value instanceof Boolean || value instanceof String;
+	}
+
+	/**
+	 * @return the value, if it is a Java object rather than one JavaScript has a type for
+	 */
+	private static Object object(final Object value) {
+		if (value == null || isPrimitive(value)) {
+			throw Unsupported.INSTANCE;
+		}
+		return value;
+	}
+
+	private static boolean isTrue(final Object value) {
+		if (value instanceof Boolean bool) {
+			return bool;
+		}
+		if (value instanceof Number number) {
+			final double d = number.doubleValue();
+			return d != 0 && !Double.isNaN(d);
+		}
+		if (value instanceof String string) {
+			return !string.isEmpty();
+		}
+		return value != null;
+	}
+
+	/**
+	 * Whether the left operand is less than, or with orEqual not greater than, the right. Both must be numbers or
+	 * both strings. Comparisons with NaN are false either way, as they are in JavaScript.
+	 */
+	private static boolean compare(final Object left, final Object right, final boolean orEqual) {
+		if (left instanceof Number && right instanceof Number) {
+			final double a = number(left);
+			final double b = number(right);
+			return orEqual ? a <= b : a < b;
+		}
+		if (left instanceof String a && right instanceof String b) {
+			final int order = a.compareTo(b);
+			return orEqual ? order <= 0 : order < 0;
+		}
+		throw Unsupported.INSTANCE;
+	}
+
+	private static boolean equals(final Object left, final Object right, final boolean strict) {
+		final int kind = kind(left);
+		if (kind != kind(right)) {
+			// Loose equality converts between kinds, except for null which only equals itself here
+			if (strict || left == null || right == null) {
+				return false;
+			}
+			throw Unsupported.INSTANCE;
+		}
+		return switch (kind) {
+			case 0 -> true;
+			case 1 -> number(left) == number(right);
+			case 4 -> left == right;
+			default -> left.equals(right);
+		};
+	}
+
+	private static int kind(final Object value) {
+		if (value == null) {
+			return 0;
+		}
+		if (value instanceof Number) {
+			return 1;
+		}
+		if (value instanceof Boolean) {
+			return 2;
+		}
+		if (value instanceof String) {
+			return 3;
+		}
+		return 4;
+	}
+
+	/**
+	 * Math.round as Rhino does it, rounding halves up and keeping the sign of zero. Rhino rounds through a long, so
+	 * anything beyond its range comes out as the largest or smallest long.
+	 */
+	private static double round(final double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			return value;
+		}
+		final long rounded = Math.round(value);
+		return rounded != 0 ? rounded : Math.copySign(0.0, value);
+	}
+
+	private static Object invoke(final Member member, final Object object, final Object[] arguments) {
+		if (member == Member.NONE) {
+			throw Unsupported.INSTANCE;
+		}
+		final Object value;
+		try {
+			value = (Object) member.handle().invokeExact(object, arguments);
+		} catch (final Error e) {
+			throw e;
+		} catch (final Throwable e) {
+			// Let Rhino run it and report the failure the way scripts always have
+			throw Unsupported.INSTANCE;
+		}
+		return fromJava(value, member.type());
+	}
+
+	/**
+	 * Rhino hands back primitives as they are, but wraps anything else declared as an object, even a string or a
+	 * number, so those are left to it.
+	 */
+	private static Object fromJava(final Object value, final Class<?> type) {
+		if (type.isPrimitive() || value == null) {
+			return value;
+		}
+		if (isPrimitive(value) || value instanceof Character || value instanceof Scriptable || value instanceof Class
+				|| value.getClass().isArray()) {
+			throw Unsupported.INSTANCE;
+		}
+		return value;
+	}
+
+	/**
+	 * Converts an argument the way Rhino would for a method with only one candidate.
+	 */
+	private static Object toJava(final Object value, final Class<?> type) {
+		if (type == boolean.class) {
+			if (value instanceof Boolean) {
+				return value;
+			}
+			throw Unsupported.INSTANCE;
+		}
+		if (type.isPrimitive()) {
+			final double d = number(value);
+			if (type == double.class) {
+				return d;
+			}
+			if (type == float.class) {
+				return (float) d;
+			}
+			if (Double.isNaN(d) || Double.isInfinite(d)) {
+				throw Unsupported.INSTANCE;
+			}
+			// Rhino truncates towards zero, and refuses values out of range
+			final double whole = d > 0 ? Math.floor(d) : Math.ceil(d);
+			if (type == int.class && whole >= Integer.MIN_VALUE && whole <= Integer.MAX_VALUE) {
+				return (int) whole;
+			}
+			if (type == long.class && whole >= Long.MIN_VALUE && whole <= Long.MAX_VALUE) {
+				return (long) whole;
+			}
+			if (type == short.class && whole >= Short.MIN_VALUE && whole <= Short.MAX_VALUE) {
+				return (short) whole;
+			}
+			if (type == byte.class && whole >= Byte.MIN_VALUE && whole <= Byte.MAX_VALUE) {
+				return (byte) whole;
+			}
+			throw Unsupported.INSTANCE;
+		}
+		if (value == null || (value instanceof String || !isPrimitive(value)) && type.isInstance(value)) {
+			return value;
+		}
+		throw Unsupported.INSTANCE;
+	}
+
+	/**
+	 * Finds what Rhino reads for a property: a public field of that name, or failing that a bean getter, as long
+	 * as no method has the name itself.
+	 */
+	private static Member getter(final Class<?> type, final String name) {
+		if (hasMethod(type, name)) {
+			return Member.NONE;
+		}
+		try {
+			final Field field = type.getField(name);
+			if (Modifier.isStatic(field.getModifiers())) {
+				return Member.NONE;
+			}
+			return member(lookup.unreflectGetter(field), field.getType());
+		} catch (final NoSuchFieldException e) {
+			// Look for a getter
+		} catch (final IllegalAccessException e) {
+			return Member.NONE;
+		}
+
+		Method getter = null;
+		for (final String prefix : new String[] { "get", "is" }) {
+			for (final Method method : type.getMethods()) {
+				if (method.getParameterCount() == 0 && method.getName().startsWith(prefix)
+						&& method.getName().length() > prefix.length()
+						&& name.equals(propertyName(method.getName().substring(prefix.length())))
+						&& (prefix.equals("get") || method.getReturnType() == boolean.class)) {
+					getter = method;
+					break;
+				}
+			}
+			if (getter != null) {
+				break;
+			}
+		}
+		if (getter == null || Modifier.isStatic(getter.getModifiers()) || !isReturnable(getter.getReturnType())) {
+			return Member.NONE;
+		}
+		try {
+			return member(lookup.unreflect(getter), getter.getReturnType());
+		} catch (final IllegalAccessException e) {
+			return Member.NONE;
+		}
+	}
+
+	/**
+	 * Finds the method Rhino calls, as long as it is the only method of that name so there is no overload to
+	 * choose between.
+	 */
+	private static Member method(final Class<?> type, final String name, final int arity) {
+		Method found = null;
+		for (final Method method : type.getMethods()) {
+			if (method.getName().equals(name)) {
+				if (found != null) {
+					return Member.NONE;
+				}
+				found = method;
+			}
+		}
+		if (found == null || found.getParameterCount() != arity || found.isVarArgs()
+				|| Modifier.isStatic(found.getModifiers()) || !isReturnable(found.getReturnType())) {
+			return Member.NONE;
+		}
+		try {
+			type.getField(name);
+			// Rhino would see the field and the method together
+			return Member.NONE;
+		} catch (final NoSuchFieldException e) {
+			// Only the method
+		}
+		try {
+			return member(lookup.unreflect(found), found.getReturnType());
+		} catch (final IllegalAccessException e) {
+			return Member.NONE;
+		}
+	}
+
+	private static Member member(final MethodHandle handle, final Class<?> type) {
+		final int arity = handle.type().parameterCount() - 1;
+		final Class<?>[] parameters = handle.type().dropParameterTypes(0, 1).parameterArray();
+		return new Member(handle.asType(MethodType.genericMethodType(arity + 1)).asSpreader(Object[].class, arity),
+				type, parameters);
+	}
+
+	private static boolean hasMethod(final Class<?> type, final String name) {
+		for (final Method method : type.getMethods()) {
+			if (method.getName().equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isReturnable(final Class<?> type) {
+		return type != void.class && type != char.class;
+	}
+
+	/**
+	 * The property name Rhino derives from what follows get or is in a getter's name.
+	 */
+	private static String propertyName(final String name) {
+		final char first = name.charAt(0);
+		if (Character.isUpperCase(first)) {
+			if (name.length() == 1) {
+				return name.toLowerCase();
+			}
+			if (!Character.isUpperCase(name.charAt(1))) {
+				return Character.toLowerCase(first) + name.substring(1);
+			}
+		}
+		return name;
+	}
+}
@@ -0,0 +1,354 @@
+package com.group_finity.mascot.script;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses the part of JavaScript that {@link Expression} compiles, by recursive descent following the JavaScript
+ * operator precedence. Anything else, down to a single unknown character, makes the whole source unsupported.
+ * <p>
+ * An expression that turns out to be unsupported while it is evaluated is run again by Rhino from the start, so
+ * everything it may do before then has to be harmless to do twice. Methods are only called if they are named like
+ * queries, as the getters read for properties are; a call to anything else makes the source unsupported here.
+ */
+final class ExpressionParser {
+
+	/**
+	 * Words that mean something other than a variable to JavaScript.
+	 */
+	private static final Set<String> RESERVED = Set.of("this", "new", "typeof", "void", "delete", "in", "instanceof",
+			"function", "var", "let", "const", "return", "if", "else", "for", "while", "do", "switch", "case",
+			"default", "break", "continue", "throw", "try", "catch", "finally", "with", "class", "super", "yield",
+			"await", "undefined", "NaN", "Infinity", "arguments", "eval");
+
+	private static final Set<String> OPERATORS = Set.of("===", "!==", "==", "!=", "<=", ">=", "&&", "||", "<", ">",
+			"+", "-", "*", "/", "%", "!", "?", ":", "(", ")", ".", ",");
+
+	private enum Kind {
+		NUMBER, STRING, NAME, OPERATOR, END
+	}
+
+	private record Token(Kind kind, String text) {
+	}
+
+	/**
+	 * Thrown as soon as the source turns out to be outside the supported part of the language.
+	 */
+	private static final class Unsupported extends Exception {
+
+		private static final Unsupported INSTANCE = new Unsupported();
+
+		private Unsupported() {
+			super(null, null, false, false);
+		}
+	}
+
+	private final String source;
+
+	private int position;
+
+	private Token token;
+
+	ExpressionParser(final String source) {
+		this.source = source;
+	}
+
+	/**
+	 * @return the expression tree, or null if the source is not in the supported part of the language
+	 */
+	Expression.Node parse() {
+		try {
+			next();
+			final Expression.Node root = conditional();
+			if (token.kind() != Kind.END) {
+				return null;
+			}
+			return root;
+		} catch (final Unsupported e) {
+			return null;
+		}
+	}
+
+	private Expression.Node conditional() throws Unsupported {
+		final Expression.Node condition = or();
+		if (!accept("?")) {
+			return condition;
+		}
+		final Expression.Node whenTrue = conditional();
+		expect(":");
+		final Expression.Node whenFalse = conditional();
+		return Expression.conditional(condition, whenTrue, whenFalse);
+	}
+
+	private Expression.Node or() throws Unsupported {
+		Expression.Node left = and();
+		while (accept("||")) {
+			left = Expression.or(left, and());
+		}
+		return left;
+	}
+
+	private Expression.Node and() throws Unsupported {
+		Expression.Node left = equality();
+		while (accept("&&")) {
+			left = Expression.and(left, equality());
+		}
+		return left;
+	}
+
+	private Expression.Node equality() throws Unsupported {
+		Expression.Node left = relational();
+		while (isOperator("==", "!=", "===", "!==")) {
+			final String operator = take();
+			left = Expression.binary(operator, left, relational());
+		}
+		return left;
+	}
+
+	private Expression.Node relational() throws Unsupported {
+		Expression.Node left = additive();
+		while (isOperator("<", "<=", ">", ">=")) {
+			final String operator = take();
+			left = Expression.binary(operator, left, additive());
+		}
+		return left;
+	}
+
+	private Expression.Node additive() throws Unsupported {
+		Expression.Node left = multiplicative();
+		while (isOperator("+", "-")) {
+			final String operator = take();
+			left = Expression.binary(operator, left, multiplicative());
+		}
+		return left;
+	}
+
+	private Expression.Node multiplicative() throws Unsupported {
+		Expression.Node left = unary();
+		while (isOperator("*", "/", "%")) {
+			final String operator = take();
+			left = Expression.binary(operator, left, unary());
+		}
+		return left;
+	}
+
+	private Expression.Node unary() throws Unsupported {
+		if (isOperator("!", "-", "+")) {
+			final String operator = take();
+			return Expression.unary(operator, unary());
+		}
+		return postfix();
+	}
+
+	private Expression.Node postfix() throws Unsupported {
+		Expression.Node node = primary();
+		while (accept(".")) {
+			final String name = name();
+			if (accept("(")) {
+				if (!isQuery(name)) {
+					throw Unsupported.INSTANCE;
+				}
+				node = Expression.call(node, name, arguments());
+			} else {
+				node = Expression.property(node, name);
+			}
+		}
+		return node;
+	}
+
+	private Expression.Node primary() throws Unsupported {
+		switch (token.kind()) {
+			case NUMBER -> {
+				return Expression.literal(Double.valueOf(take()));
+			}
+			case STRING -> {
+				return Expression.literal(take());
+			}
+			case NAME -> {
+				final String name = take();
+				switch (name) {
+					case "true" -> {
+						return Expression.literal(Boolean.TRUE);
+					}
+					case "false" -> {
+						return Expression.literal(Boolean.FALSE);
+					}
+					case "null" -> {
+						return Expression.literal(null);
+					}
+					case "Math" -> {
+						// Math is only supported for calling one of its functions
+						expect(".");
+						final String function = name();
+						expect("(");
+						final Expression.Node node = Expression.math(function, arguments());
+						if (node == null) {
+							throw Unsupported.INSTANCE;
+						}
+						return node;
+					}
+					default -> {
+						if (RESERVED.contains(name)) {
+							throw Unsupported.INSTANCE;
+						}
+						return Expression.variable(name);
+					}
+				}
+			}
+			default -> {
+				expect("(");
+				final Expression.Node node = conditional();
+				expect(")");
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Parses the arguments of a call, whose opening parenthesis has been read.
+	 */
+	private List<Expression.Node> arguments() throws Unsupported {
+		final List<Expression.Node> arguments = new ArrayList<>();
+		if (accept(")")) {
+			return arguments;
+		}
+		do {
+			arguments.add(conditional());
+		} while (accept(","));
+		expect(")");
+		return arguments;
+	}
+
+	private String name() throws Unsupported {
+		if (token.kind() != Kind.NAME) {
+			throw Unsupported.INSTANCE;
+		}
+		return take();
+	}
+
+	private boolean isOperator(final String... operators) {
+		if (token.kind() != Kind.OPERATOR) {
+			return false;
+		}
+		for (final String operator : operators) {
+			if (operator.equals(token.text())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean accept(final String operator) throws Unsupported {
+		if (isOperator(operator)) {
+			next();
+			return true;
+		}
+		return false;
+	}
+
+	private void expect(final String operator) throws Unsupported {
+		if (!accept(operator)) {
+			throw Unsupported.INSTANCE;
+		}
+	}
+
+	private String take() throws Unsupported {
+		final String text = token.text();
+		next();
+		return text;
+	}
+
+	private void next() throws Unsupported {
+		while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+			position++;
+		}
+		if (position == source.length()) {
+			token = new Token(Kind.END, "");
+			return;
+		}
+
+		final int start = position;
+		final char first = source.charAt(position);
+		if (isDigit(first) || first == '.' && position + 1 < source.length() && isDigit(source.charAt(position + 1))) {
+			// Leading zeros would be octal or hexadecimal, which are left to Rhino
+			if (first == '0' && position + 1 < source.length() && Character.isLetterOrDigit(source.charAt(position + 1))) {
+				throw Unsupported.INSTANCE;
+			}
+			skipDigits();
+			if (position < source.length() && source.charAt(position) == '.') {
+				position++;
+				skipDigits();
+			}
+			if (position < source.length() && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+				position++;
+				if (position < source.length() && (source.charAt(position) == '+' || source.charAt(position) == '-')) {
+					position++;
+				}
+				if (position == source.length() || !isDigit(source.charAt(position))) {
+					throw Unsupported.INSTANCE;
+				}
+				skipDigits();
+			}
+			if (position < source.length() && isNamePart(source.charAt(position))) {
+				throw Unsupported.INSTANCE;
+			}
+			token = new Token(Kind.NUMBER, source.substring(start, position));
+		} else if (first == '\'' || first == '"') {
+			final int end = source.indexOf(first, position + 1);
+			if (end < 0) {
+				throw Unsupported.INSTANCE;
+			}
+			final String text = source.substring(position + 1, end);
+			// Escapes and line breaks are left to Rhino
+			if (text.indexOf('\\') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+				throw Unsupported.INSTANCE;
+			}
+			position = end + 1;
+			token = new Token(Kind.STRING, text);
+		} else if (Character.isJavaIdentifierStart(first)) {
+			position++;
+			while (position < source.length() && isNamePart(source.charAt(position))) {
+				position++;
+			}
+			token = new Token(Kind.NAME, source.substring(start, position));
+		} else {
+			for (int length = 3; length > 0; length--) {
+				if (position + length <= source.length()
+						&& OPERATORS.contains(source.substring(position, position + length))) {
+					position += length;
+					token = new Token(Kind.OPERATOR, source.substring(start, position));
+					return;
+				}
+			}
+			throw Unsupported.INSTANCE;
+		}
+	}
+
+	/**
+	 * Whether a method name reads like a question, such as {@code isOn} or {@code getWidth}, rather than an action.
+	 */
+	private static boolean isQuery(final String name) {
+		for (final String prefix : new String[] { "is", "has", "get" }) {
+			if (name.length() > prefix.length() && name.startsWith(prefix)
+					&& Character.isUpperCase(name.charAt(prefix.length()))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void skipDigits() {
+		while (position < source.length() && isDigit(source.charAt(position))) {
+			position++;
+		}
+	}
+
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isNamePart(final char c) {
+		return Character.isJavaIdentifierPart(c);
+	}
+}
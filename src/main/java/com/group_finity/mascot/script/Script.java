@@ -1,12 +1,17 @@
 package com.group_finity.mascot.script;
 
 import com.group_finity.mascot.Main;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.ContextFactory;
 import org.mozilla.javascript.RhinoException;
 import org.mozilla.javascript.Scriptable;
 import org.mozilla.javascript.ScriptableObject;
-import java.util.Map;
 
 import com.group_finity.mascot.exception.VariableException;
 
@@ -48,11 +53,62 @@ public class Script extends Variable {
 		}
 	};
 
+	/**
+	 * The context of each thread that evaluates scripts. It is entered the first time the thread needs one and
+	 * never exited, so that evaluating a script does not set a context up and tear it down every time.
+	 */
+	private static final ThreadLocal<Context> contexts = ThreadLocal.withInitial(contextFactory::enterContext);
+
+	/**
+	 * The JavaScript standard objects, built once and sealed so that every thread can share them. Each evaluation
+	 * only creates an empty scope that inherits from this one to hold its variables.
+	 */
+	private static final ScriptableObject sharedScope;
+
+	static {
+		final Context cx = contextFactory.enterContext();
+		try {
+			sharedScope = cx.initStandardObjects(null, true);
+			sharedScope.sealObject();
+		} finally {
+			Context.exit();
+		}
+	}
+
+	/**
+	 * How each script has been run so far, by source.
+	 */
+	private static final Map<String, Usage> usages = new ConcurrentHashMap<>();
+
+	/**
+	 * A script's fast path, shared by every script with the same source, and how often it was or was not taken.
+	 */
+	private static final class Usage {
+
+		private final String source;
+
+		/**
+		 * The script compiled to Java, or null if it uses anything the fast path does not cover.
+		 */
+		private final Expression expression;
+
+		private final LongAdder fast = new LongAdder();
+
+		private final LongAdder scripted = new LongAdder();
+
+		private Usage(final String source) {
+			this.source = source;
+			this.expression = Expression.compile(source);
+		}
+	}
+
     private final String source;
 	
 	private final boolean clearAtInitFrame;
 	
 	private final org.mozilla.javascript.Script compiled;
+
+	private final Usage usage;
 	
 	private Object value;
 	
@@ -61,17 +117,20 @@ public class Script extends Variable {
 		this.source = source;
 		this.clearAtInitFrame = clearAtInitFrame;
 		
-		Context cx = contextFactory.enterContext();
 		try {
-			// Context is already configured by our custom ContextFactory
-			
 			// Compile the script
-			this.compiled = cx.compileString(this.source, "<script>", 1, null);
+			this.compiled = contexts.get().compileString(this.source, "<script>", 1, null);
 		} catch (final RhinoException e) {
 			throw new VariableException( Main.getInstance( ).getLanguageBundle( ).getString( "ScriptCompilationErrorMessage" ) + ": "+this.source, e);
-		} finally {
-			Context.exit();
 		}
+		this.usage = usages.computeIfAbsent(source, Usage::new);
+	}
+
+	private Script(final Script template) {
+		this.source = template.source;
+		this.clearAtInitFrame = template.clearAtInitFrame;
+		this.compiled = template.compiled;
+		this.usage = template.usage;
 	}
 
 	@Override
@@ -79,6 +138,11 @@ public class Script extends Variable {
 		return this.isClearAtInitFrame() ? "#{"+this.getSource()+"}" : "${"+this.getSource()+"}";
 	}
 	
+	@Override
+	public Variable newInstance() {
+		return new Script(this);
+	}
+
 	@Override
 	public void init() {
 		setValue(null);
@@ -98,92 +162,51 @@ public class Script extends Variable {
 			return getValue();
 		}
 
-		Context cx = contextFactory.enterContext();
+		setValue(evaluate(variables));
+
+		return getValue();
+	}
+
+	/**
+	 * Runs the script without looking at or changing the cached value, so it may be called from several threads at once.
+	 */
+	Object evaluate(final VariableMap variables) throws VariableException {
+
+		if (usage.expression != null) {
+			try {
+				final Object result = usage.expression.evaluate(variables);
+				usage.fast.increment();
+				return result;
+			} catch (final Expression.Unsupported e) {
+				// Run it in Rhino instead
+			}
+		}
+		usage.scripted.increment();
+		return evaluateScripted(variables);
+	}
+
+	/**
+	 * Runs the script in Rhino, whether or not the fast path covers it.
+	 */
+	Object evaluateScripted(final VariableMap variables) throws VariableException {
+
+		final Context cx = contexts.get();
 		try {
-			// Context is already configured by our custom ContextFactory
-			
-			// Create a new scope for this execution
-			Scriptable scope = cx.initStandardObjects();
-			
-			// Populate scope with variables more efficiently
-			populateScope(cx, scope, variables);
+			// Create a new scope for this execution on top of the shared standard objects
+			final Scriptable scope = new VariableScope(sharedScope, variables);
 			
 			// Execute the compiled script
 			Object result = getCompiled().exec(cx, scope);
 			
 			// Convert result back to Java object with better type handling
-			Object javaResult = convertJSToJava(result);
-			setValue(javaResult);
+			return convertJSToJava(result);
 			
 		} catch (final RhinoException e) {
 			throw new VariableException( Main.getInstance( ).getLanguageBundle( ).getString( "ScriptEvaluationErrorMessage" ) + ": "+this.source, e);
 		} catch (final RuntimeException e) {
 			// Handle potential circular reference or recursion issues
 			throw new VariableException( Main.getInstance( ).getLanguageBundle( ).getString( "ScriptEvaluationErrorMessage" ) + ": "+this.source, e);
-		} finally {
-			Context.exit();
-		}
-
-		return getValue();
-	}
-	
-	/**
-	 * Efficiently populate the JavaScript scope with variables from VariableMap
-	 * while avoiding recursion issues
-	 */
-	private void populateScope(Context cx, Scriptable scope, VariableMap variables) {
-		// Use getRawMap() to avoid triggering Variable.get() which causes recursion
-		if (variables == null || variables.getRawMap() == null) {
-			return;
-		}
-		for (Map.Entry<String, Variable> entry : variables.getRawMap().entrySet()) {
-			String key = entry.getKey();
-			Variable variable = entry.getValue();
-			
-			try {
-				Object value = getVariableValueSafely(variable, variables);
-				if (value != null) {
-					// Convert Java objects to JavaScript-compatible objects with better type mapping
-					Object jsValue = convertJavaToJS(value, scope);
-					ScriptableObject.putProperty(scope, key, jsValue);
-				}
-			} catch (Exception e) {
-				// Log warning but continue with other variables
-				// Could add logging here if needed
-            }
-		}
-	}
-	
-	/**
-	 * Safely get variable value without causing recursion
-	 */
-	private Object getVariableValueSafely(Variable variable, VariableMap variables) throws VariableException {
-		if (variable instanceof Script scriptVar) {
-			// For Script variables, use their cached value if available to prevent recursion
-            return scriptVar.getValue();
-		} else {
-			// Safe to evaluate non-Script variables (Constant variables)
-			return variable.get(variables);
-		}
-	}
-	
-	/**
-	 * Convert Java objects to JavaScript with better type handling
-	 */
-	private Object convertJavaToJS(Object value, Scriptable scope) {
-		if (value == null) {
-			return null;
-		}
-		
-		// Handle common types more efficiently
-		if (value instanceof String || 
-			value instanceof Number || 
-			value instanceof Boolean) {
-			return value; // These types are directly compatible
 		}
-		
-		// Use Rhino's conversion for complex objects
-		return Context.javaToJS(value, scope);
 	}
 	
 	/**
@@ -209,10 +232,47 @@ public class Script extends Variable {
 		this.value = value;
 	}
 
-	private Object getValue() {
+	Object getValue() {
 		return this.value;
 	}
 	
+	/**
+	 * Describes how often each script took the fast path, which runs it as compiled Java, rather than being run by
+	 * Rhino. Scripts the fast path does not cover are listed as script, and those it covers but which still needed
+	 * Rhino for some of their values as mixed.
+	 *
+	 * @return a summary line followed by one line per script, most evaluated first
+	 */
+	public static String getFastPathReport() {
+		final List<Usage> sorted = new ArrayList<>(usages.values());
+		sorted.sort(Comparator.comparingLong((Usage usage) -> usage.fast.sum() + usage.scripted.sum()).reversed());
+
+		long fast = 0;
+		long total = 0;
+		int covered = 0;
+		final StringBuilder lines = new StringBuilder();
+		for (final Usage usage : sorted) {
+			final long fastCount = usage.fast.sum();
+			final long scriptedCount = usage.scripted.sum();
+			fast += fastCount;
+			total += fastCount + scriptedCount;
+			if (usage.expression != null) {
+				covered++;
+			}
+			final String kind = usage.expression == null ? "script" : scriptedCount == 0 ? "fast" : "mixed";
+			lines.append(String.format("%-6s %10d %10d  %s%n", kind, fastCount, scriptedCount,
+					usage.source.strip().replaceAll("\\s+", " ")));
+		}
+		return String.format("%d of %d scripts on the fast path, %.1f%% of %d evaluations%n", covered, sorted.size(),
+				total == 0 ? 0.0 : fast * 100.0 / total, total)
+				+ String.format("%-6s %10s %10s  %s%n", "", "fast", "script", "source") + lines;
+	}
+
+	@Override
+	public boolean isDynamic() {
+		return isClearAtInitFrame();
+	}
+
 	private boolean isClearAtInitFrame() {
 		return this.clearAtInitFrame;
 	}
@@ -50,6 +50,18 @@ public abstract class Variable {
 	}
 
 	public abstract void init();
+
+	/**
+	 * Returns a variable with the same source and a value of its own, sharing anything that was compiled.
+	 */
+	public abstract Variable newInstance();
+
+	/**
+	 * Whether the value may change from one frame to the next, rather than only when the variable is initialized.
+	 */
+	public boolean isDynamic() {
+		return false;
+	}
 	
 	public abstract void initFrame();
 
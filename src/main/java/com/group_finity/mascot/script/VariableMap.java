@@ -7,6 +7,7 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.Bindings;
 
@@ -21,6 +22,11 @@ public class VariableMap extends AbstractMap<String, Object> implements Bindings
 
 	private final Map<String, Variable> rawMap = new LinkedHashMap<>();
 
+	/**
+	 * Values scripts have looked up, as scripts see them, until the next frame.
+	 */
+	private final Map<String, VariableScope.Converted> converted = new ConcurrentHashMap<>();
+
 	public Map<String, Variable> getRawMap() {
 		return this.rawMap;
 	}
@@ -28,11 +34,17 @@ public class VariableMap extends AbstractMap<String, Object> implements Bindings
 	public void init() {
 		// Use forEach with method reference for cleaner code
 		this.getRawMap().values().forEach(Variable::init);
+		this.converted.clear();
 	}
 
 	public void initFrame() {
 		// Use forEach with method reference for cleaner code
 		this.getRawMap().values().forEach(Variable::initFrame);
+		this.converted.clear();
+	}
+
+	Map<String, VariableScope.Converted> getConverted() {
+		return this.converted;
 	}
 
 	private final Set<Map.Entry<String, Object>> entrySet = new AbstractSet<>() {
@@ -0,0 +1,94 @@
+package com.group_finity.mascot.script;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+import com.group_finity.mascot.exception.VariableException;
+
+/**
+ * The scope a script runs in. A variable is looked up in the variable map when the script first uses it, so a
+ * script only pays for the variables it touches, however many the map holds.
+ */
+final class VariableScope extends ScriptableObject {
+
+	/**
+	 * A variable's value and what scripts see in its place, kept by the variable map until the next frame.
+	 */
+	record Converted(Object value, Object jsValue) {
+	}
+
+	private final VariableMap variables;
+
+	VariableScope(final Scriptable standardObjects, final VariableMap variables) {
+		this.variables = variables;
+		setPrototype(standardObjects);
+	}
+
+	@Override
+	public String getClassName() {
+		return "Variables";
+	}
+
+	@Override
+	public Object get(final String name, final Scriptable start) {
+		// Anything the script declared or assigned itself comes first
+		final Object own = super.get(name, start);
+		if (own != NOT_FOUND) {
+			return own;
+		}
+		final Object value = lookUp(name);
+		return value == null ? NOT_FOUND : value;
+	}
+
+	@Override
+	public boolean has(final String name, final Scriptable start) {
+		return super.has(name, start) || lookUp(name) != null;
+	}
+
+	private Object lookUp(final String name) {
+		if (variables == null) {
+			return null;
+		}
+		final Variable variable = variables.getRawMap().get(name);
+		if (variable == null) {
+			return null;
+		}
+
+		final Object value;
+		try {
+			value = valueOf(variable, variables);
+		} catch (final VariableException | RuntimeException e) {
+			return null;
+		}
+		if (value == null) {
+			return null;
+		}
+
+		final Converted converted = variables.getConverted().get(name);
+		if (converted != null && converted.value() == value) {
+			return converted.jsValue();
+		}
+		final Object jsValue = toJS(value);
+		variables.getConverted().put(name, new Converted(value, jsValue));
+		return jsValue;
+	}
+
+	/**
+	 * Scripts only see the value another script already has, since evaluating it from here could recurse.
+	 */
+	static Object valueOf(final Variable variable, final VariableMap variables) throws VariableException {
+		if (variable instanceof Script script) {
+			return script.getValue();
+		}
+		return variable.get(variables);
+	}
+
+	private Object toJS(final Object value) {
+		if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+			return value;
+		}
+		// Wrapped against the shared standard objects, so that the wrapper does not keep this scope alive
+		return Context.javaToJS(value, getPrototype());
+	}
+}
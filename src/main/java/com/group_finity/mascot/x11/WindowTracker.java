@@ -0,0 +1,557 @@
+package com.group_finity.mascot.x11;
+
+import com.group_finity.mascot.x11.X.Display;
+import com.group_finity.mascot.x11.X.Window;
+import com.group_finity.mascot.x11.X.X11Exception;
+import com.group_finity.mascot.x11.jna.LibC;
+import com.group_finity.mascot.x11.jna.PollFd;
+import com.group_finity.mascot.x11.jna.X11Extra;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.platform.unix.X11;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Follows the windows on the desktop from X events, so that the tick only has
+ * to read what was last seen instead of asking the X server about it every time.
+ * <p>
+ * A daemon thread with its own connection to the X server listens for
+ * {@code _NET_ACTIVE_WINDOW}, {@code _NET_CLIENT_LIST_STACKING} and
+ * {@code _NET_CURRENT_DESKTOP} changing on the root window, and for every
+ * managed window being moved, resized, renamed, changing state or going away.
+ * Only those events cause requests to the server, and only about the window
+ * they concern. The active window is checked with the same rules as before and
+ * published as an {@link ActiveWindow}; the parts of the other windows' top
+ * edges that nothing is stacked over are published as {@link Ledge}s.
+ * <p>
+ * Between events the thread sleeps in {@code poll} on the connection and on a
+ * pipe of its own, which {@link #refresh()} and {@link #close()} write to so
+ * that it wakes up for them too.
+ *
+ * @see X11Environment#getIeStatus(Display, Window)
+ */
+class WindowTracker {
+
+    private static final Logger log = Logger.getLogger(WindowTracker.class.getName());
+
+    private static final X11 x11 = X11.INSTANCE;
+
+    private static final LibC libc = LibC.INSTANCE;
+
+    private static final int EINTR = 4;
+
+    private static final int EVENT_MASK = X11.StructureNotifyMask | X11.PropertyChangeMask;
+
+    /**
+     * The active window as last seen.
+     *
+     * @param id the window ID, or 0 if there is no active window
+     * @param title the window's title
+     * @param bounds the window's bounds
+     * @param interactive whether the window can be used by mascots, as long as it is on screen
+     */
+    record ActiveWindow(long id, String title, Rectangle bounds, boolean interactive) {
+
+        static final ActiveWindow NONE = new ActiveWindow(0, "", new Rectangle(), false);
+    }
+
+    /**
+     * A stretch of a window's top edge that no window higher in the stacking
+     * order covers, so mascots can stand on it.
+     *
+     * @param window the window ID
+     * @param bounds the stretch, as a rectangle with no height
+     */
+    record Ledge(long window, Rectangle bounds) {
+    }
+
+    /**
+     * What is known about a managed window. Only used by the tracking thread.
+     */
+    private static final class Client {
+
+        final Window window;
+
+        Rectangle bounds;
+
+        /**
+         * Whether the window is on the current desktop and not minimized, so
+         * that it covers the windows below it.
+         */
+        boolean shown;
+
+        /**
+         * Whether mascots may stand on the window.
+         */
+        boolean interactive;
+
+        Client(final Window window) {
+            this.window = window;
+        }
+    }
+
+    private final X11Environment environment;
+
+    /**
+     * Only used by the tracking thread, as Xlib connections must not be shared between threads.
+     */
+    private final Display display = new Display();
+
+    private final Window root = display.getRootWindow();
+
+    private final long activeWindowAtom;
+
+    private final long stackingAtom;
+
+    private final long currentDesktopAtom;
+
+    /**
+     * Properties of a window that can change whether it is interactive.
+     */
+    private final long[] watchedAtoms;
+
+    /**
+     * Properties of a window that hold its title.
+     */
+    private final long[] titleAtoms;
+
+    private final int hiddenState;
+
+    private final int dockType;
+
+    private volatile ActiveWindow current = ActiveWindow.NONE;
+
+    private volatile List<Ledge> ledges = List.of();
+
+    private volatile boolean running = true;
+
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+    /**
+     * The pipe that wakes the tracking thread, read end first. Written and
+     * closed only while holding it.
+     */
+    private final int[] wakeup = new int[2];
+
+    /**
+     * Whether the pipe is still open. Guarded by {@link #wakeup}.
+     */
+    private boolean wakeupOpen;
+
+    /**
+     * Whether a byte has been written to the pipe that the tracking thread has
+     * not read yet, so that the pipe never fills up.
+     */
+    private final AtomicBoolean woken = new AtomicBoolean();
+
+    // The rest is only used by the tracking thread
+
+    /**
+     * The active window.
+     */
+    private Window tracked;
+
+    /**
+     * The managed windows by ID.
+     */
+    private final Map<Long, Client> clients = new HashMap<>();
+
+    /**
+     * The managed windows from the bottom of the stacking order to the top.
+     */
+    private List<Client> stack = List.of();
+
+    private int currentDesktop;
+
+    WindowTracker(final X11Environment environment) {
+        this.environment = environment;
+        activeWindowAtom = display.getAtom("_NET_ACTIVE_WINDOW").longValue();
+        stackingAtom = display.getAtom("_NET_CLIENT_LIST_STACKING").longValue();
+        currentDesktopAtom = display.getAtom("_NET_CURRENT_DESKTOP").longValue();
+        titleAtoms = new long[]{display.getAtom("_NET_WM_NAME").longValue(), X11.XA_WM_NAME.longValue()};
+        watchedAtoms = new long[]{display.getAtom("_NET_WM_STATE").longValue(),
+                display.getAtom("_NET_WM_DESKTOP").longValue(),
+                display.getAtom("_WIN_WORKSPACE").longValue(),
+                display.getAtom("_NET_WM_WINDOW_TYPE").longValue()};
+        hiddenState = display.getAtom("_NET_WM_STATE_HIDDEN").intValue();
+        dockType = display.getAtom("_NET_WM_WINDOW_TYPE_DOCK").intValue();
+        if (libc.pipe(wakeup) != 0) {
+            display.close();
+            throw new IllegalStateException("Failed to create a pipe, error " + Native.getLastError());
+        }
+        wakeupOpen = true;
+
+        final Thread thread = new Thread(this::run, "X11 windows");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the active window as of the last event. Never blocks.
+     */
+    ActiveWindow getActiveWindow() {
+        return current;
+    }
+
+    /**
+     * Returns the uncovered stretches of the top edges of every interactive
+     * window as of the last event. The list is replaced rather than changed,
+     * so the same list is returned for as long as nothing has moved. Never blocks.
+     */
+    List<Ledge> getLedges() {
+        return ledges;
+    }
+
+    /**
+     * Has every window checked again, for when the rules deciding which
+     * windows are interactive have changed.
+     */
+    void refresh() {
+        refreshRequested.set(true);
+        wake();
+    }
+
+    /**
+     * Stops the tracking thread, which closes its connection once it notices.
+     */
+    void close() {
+        running = false;
+        wake();
+    }
+
+    private void wake() {
+        if (!woken.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (wakeup) {
+            if (wakeupOpen) {
+                libc.write(wakeup[1], new byte[1], new NativeLong(1));
+            }
+        }
+    }
+
+    private void run() {
+        final X11.XEvent event = new X11.XEvent();
+        root.selectInput(X11.PropertyChangeMask);
+        readDesktop();
+        restack(true);
+        follow();
+
+        final PollFd[] fds = (PollFd[]) new PollFd().toArray(2);
+        fds[0].fd = X11Extra.INSTANCE.XConnectionNumber(display.getX11Display());
+        fds[0].events = PollFd.POLLIN;
+        fds[1].fd = wakeup[0];
+        fds[1].events = PollFd.POLLIN;
+        final byte[] drained = new byte[16];
+
+        while (running) {
+            if (refreshRequested.getAndSet(false)) {
+                try {
+                    restack(true);
+                    follow();
+                } catch (final RuntimeException e) {
+                    log.log(Level.WARNING, "Failed to refresh the windows", e);
+                }
+            }
+            // Handling an event can make requests whose replies bring more events in, so keep going until
+            // nothing is left; until then the connection may not be readable although events are waiting
+            while (running && x11.XPending(display.getX11Display()) > 0) {
+                x11.XNextEvent(display.getX11Display(), event);
+                try {
+                    handle(event);
+                } catch (final RuntimeException e) {
+                    log.log(Level.WARNING, "Failed to handle X event " + event.type, e);
+                }
+            }
+            if (!running || refreshRequested.get()) {
+                continue;
+            }
+
+            fds[0].revents = 0;
+            fds[1].revents = 0;
+            if (libc.poll(fds, fds.length, -1) < 0) {
+                final int error = Native.getLastError();
+                if (error != EINTR) {
+                    log.log(Level.SEVERE, "Failed to wait for X events, error " + error);
+                    break;
+                }
+                continue;
+            }
+            if ((fds[1].revents & PollFd.POLLIN) != 0) {
+                libc.read(wakeup[0], drained, new NativeLong(drained.length));
+                // Only cleared once the pipe is empty, or a byte written in between would be read without anyone
+                // writing the next one. Whatever a wake-up skipped meanwhile was for is seen at the top of the loop
+                woken.set(false);
+            }
+        }
+
+        if (tracked != null) {
+            tracked.selectInput(X11.NoEventMask);
+        }
+        for (final Client client : clients.values()) {
+            client.window.selectInput(X11.NoEventMask);
+        }
+        display.close();
+        synchronized (wakeup) {
+            wakeupOpen = false;
+            libc.close(wakeup[0]);
+            libc.close(wakeup[1]);
+        }
+    }
+
+    private void handle(final X11.XEvent event) {
+        switch (event.type) {
+            case X11.PropertyNotify -> {
+                final X11.XPropertyEvent property = (X11.XPropertyEvent) event.readField("xproperty");
+                final long atom = property.atom.longValue();
+                if (property.window.longValue() == root.getX11Window().longValue()) {
+                    if (atom == activeWindowAtom) {
+                        follow();
+                    } else if (atom == stackingAtom) {
+                        restack(false);
+                    } else if (atom == currentDesktopAtom) {
+                        readDesktop();
+                        restack(true);
+                        check();
+                    }
+                    return;
+                }
+
+                final boolean title = contains(titleAtoms, atom);
+                if (!title && !contains(watchedAtoms, atom)) {
+                    return;
+                }
+                final Client client = clients.get(property.window.longValue());
+                if (isTracked(property.window)) {
+                    if (title) {
+                        // The cached verdict was based on the old title
+                        environment.forget(tracked);
+                    }
+                    check();
+                }
+                if (client != null) {
+                    if (title) {
+                        environment.forget(client.window);
+                    }
+                    inspect(client);
+                    publish();
+                }
+            }
+            case X11.ConfigureNotify -> {
+                final X11.XConfigureEvent configure = (X11.XConfigureEvent) event.readField("xconfigure");
+                if (isTracked(configure.window) && current.interactive()) {
+                    // Only whether it is on screen depends on where it is, and the tick decides that
+                    current = new ActiveWindow(current.id(), current.title(), tracked.getBounds(), true);
+                }
+                final Client client = clients.get(configure.window.longValue());
+                if (client != null) {
+                    client.bounds = client.window.getBounds();
+                    publish();
+                }
+            }
+            case X11.UnmapNotify, X11.DestroyNotify -> {
+                final X11.XAnyEvent any = (X11.XAnyEvent) event.readField("xany");
+                if (isTracked(any.window)) {
+                    follow();
+                }
+                // The window manager updates the stacking list as well, which drops the window
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Starts listening to the window that is active now, if it is not the
+     * one already listened to, and checks it.
+     */
+    private void follow() {
+        Window active;
+        try {
+            active = display.getActiveWindow();
+        } catch (final X11Exception e) {
+            active = null;
+        }
+        if (active != null && active.getID() == 0) {
+            active = null;
+        }
+
+        if (active == null || tracked == null || active.getID() != tracked.getID()) {
+            if (tracked != null) {
+                final Client client = clients.get(tracked.getX11Window().longValue());
+                if (client == null) {
+                    tracked.selectInput(X11.NoEventMask);
+                }
+                environment.forget(tracked);
+            }
+            tracked = active;
+            if (tracked != null) {
+                tracked.selectInput(EVENT_MASK);
+            }
+        }
+        check();
+    }
+
+    private void check() {
+        if (tracked == null) {
+            current = ActiveWindow.NONE;
+            return;
+        }
+        final X11Environment.IeStatus status = environment.getIeStatus(display, tracked);
+        final boolean interactive = status == X11Environment.IeStatus.VALID
+                || status == X11Environment.IeStatus.OUT_OF_BOUNDS;
+        current = new ActiveWindow(tracked.getID(), X11Environment.getWindowTitle(tracked), tracked.getBounds(),
+                interactive);
+    }
+
+    /**
+     * Reads the stacking order from the root window, starts listening to new
+     * windows and stops listening to the ones that are gone.
+     *
+     * @param all whether to check every window again rather than only the new ones
+     */
+    private void restack(final boolean all) {
+        Window[] windows;
+        try {
+            windows = display.getStackingWindows();
+        } catch (final X11Exception e) {
+            windows = new Window[0];
+        }
+
+        final Map<Long, Client> previous = new HashMap<>(clients);
+        final List<Client> order = new ArrayList<>(windows.length);
+        for (final Window window : windows) {
+            final long id = window.getX11Window().longValue();
+            Client client = previous.remove(id);
+            if (client == null) {
+                client = new Client(window);
+                window.selectInput(EVENT_MASK);
+                clients.put(id, client);
+                inspect(client);
+            } else if (all) {
+                inspect(client);
+            }
+            order.add(client);
+        }
+
+        for (final Map.Entry<Long, Client> gone : previous.entrySet()) {
+            clients.remove(gone.getKey());
+            if (!isTracked(gone.getValue().window.getX11Window())) {
+                gone.getValue().window.selectInput(X11.NoEventMask);
+            }
+            environment.forget(gone.getValue().window);
+        }
+
+        stack = order;
+        publish();
+    }
+
+    private void readDesktop() {
+        try {
+            currentDesktop = display.getActiveDesktopNumber();
+        } catch (final X11Exception e) {
+            currentDesktop = 0;
+        }
+    }
+
+    /**
+     * Reads where a window is and whether it covers or supports anything.
+     */
+    private void inspect(final Client client) {
+        final Window window = client.window;
+        client.bounds = window.getBounds();
+        try {
+            final List<Integer> type = Arrays.asList(window.getType());
+            final List<Integer> state = Arrays.asList(window.getState());
+            final int desktop = window.getDesktop();
+            // Docks include the mascots' own windows, which must not cover anything
+            client.shown = !type.contains(dockType) && !state.contains(hiddenState)
+                    && (desktop == currentDesktop || desktop == -1);
+        } catch (final X11Exception | NullPointerException e) {
+            client.shown = false;
+        }
+        if (client.shown) {
+            final X11Environment.IeStatus status = environment.getIeStatus(display, window);
+            client.interactive = status == X11Environment.IeStatus.VALID
+                    || status == X11Environment.IeStatus.OUT_OF_BOUNDS;
+        } else {
+            client.interactive = false;
+        }
+    }
+
+    /**
+     * Works out which parts of every interactive window's top edge are not
+     * covered by a window stacked above it, and publishes them.
+     */
+    private void publish() {
+        final List<Ledge> found = new ArrayList<>();
+        final List<int[]> spans = new ArrayList<>();
+        for (int i = 0; i < stack.size(); i++) {
+            final Client client = stack.get(i);
+            if (!client.interactive || !client.shown) {
+                continue;
+            }
+            final Rectangle bounds = client.bounds;
+            final int y = bounds.y;
+
+            spans.clear();
+            spans.add(new int[]{bounds.x, bounds.x + bounds.width});
+            for (int j = i + 1; j < stack.size() && !spans.isEmpty(); j++) {
+                final Client above = stack.get(j);
+                final Rectangle cover = above.bounds;
+                if (above.shown && cover.y <= y && y <= cover.y + cover.height) {
+                    subtract(spans, cover.x, cover.x + cover.width);
+                }
+            }
+
+            for (final int[] span : spans) {
+                found.add(new Ledge(client.window.getX11Window().longValue(),
+                        new Rectangle(span[0], y, span[1] - span[0], 0)));
+            }
+        }
+        if (!found.equals(ledges)) {
+            ledges = List.copyOf(found);
+        }
+    }
+
+    /**
+     * Removes the pixels from left to right inclusive from every span.
+     */
+    private static void subtract(final List<int[]> spans, final int left, final int right) {
+        for (int k = spans.size() - 1; k >= 0; k--) {
+            final int[] span = spans.get(k);
+            if (right < span[0] || span[1] < left) {
+                continue;
+            }
+            spans.remove(k);
+            if (span[0] < left) {
+                spans.add(new int[]{span[0], left - 1});
+            }
+            if (right < span[1]) {
+                spans.add(new int[]{right + 1, span[1]});
+            }
+        }
+    }
+
+    private boolean isTracked(final NativeLong window) {
+        return tracked != null && window.longValue() == tracked.getX11Window().longValue();
+    }
+
+    private static boolean contains(final long[] atoms, final long atom) {
+        for (final long candidate : atoms) {
+            if (candidate == atom) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
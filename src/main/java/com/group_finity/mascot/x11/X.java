@@ -37,8 +37,9 @@ import com.sun.jna.ptr.PointerByReference;
 import java.awt.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Object-oriented X window system.
@@ -101,7 +102,7 @@ public class X {
         /**
          * Map used for caching atoms.
          */
-        private final HashMap<String, Atom> atomsHash = new HashMap<>();
+        private final Map<String, Atom> atomsHash = new ConcurrentHashMap<>();
 
         /**
          * Creates the OOWindowUtils using the default display.
@@ -157,12 +158,7 @@ public class X {
          * @return atom
          */
         public X11.Atom getAtom(String name) {
-            X11.Atom atom = atomsHash.get(name);
-            if (atom == null) {
-                atom = x11.XInternAtom(x11Display, name, false);
-                atomsHash.put(name, atom);
-            }
-            return atom;
+            return atomsHash.computeIfAbsent(name, key -> x11.XInternAtom(x11Display, key, false));
         }
 
         /**
@@ -233,6 +229,25 @@ public class X {
             return windowList;
         }
 
+        /**
+         * Returns all windows managed by the window manager, from the bottom
+         * of the stacking order to the top.
+         *
+         * @return all windows managed by the window manager in stacking order
+         * @throws X11Exception thrown if X11 window errors occurred
+         */
+        public Window[] getStackingWindows() throws X11Exception {
+            byte[] bytes = getRootWindow().getProperty(X11.XA_WINDOW, "_NET_CLIENT_LIST_STACKING");
+
+            Window[] windowList = new Window[bytes.length / X11.Window.SIZE];
+
+            for (int i = 0; i < windowList.length; i++) {
+                windowList[i] = new Window(this, new X11.Window(bytesToInt(bytes, X11.XID.SIZE * i)));
+            }
+
+            return windowList;
+        }
+
         /**
          * Returns the number of desktops.
          *
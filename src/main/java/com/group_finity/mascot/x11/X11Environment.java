@@ -11,10 +11,12 @@ import com.group_finity.mascot.x11.X.Display;
 import com.group_finity.mascot.x11.X.Window;
 import com.group_finity.mascot.x11.X.X11Exception;
 import com.group_finity.mascot.x11.jna.X11Extra;
+import com.sun.jna.platform.unix.X11;
 
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -25,23 +27,45 @@ import java.util.stream.Collectors;
 class X11Environment extends Environment {
 
     /**
-     * The {@link X} display.
+     * The {@link X} display, shared with the mascot windows.
      */
-    private Display display = new Display();
+    private Display display = XConnection.acquire();
 
     /**
      * Hashtable for storing the active windows.
      */
     public WindowContainer ieContainer = new WindowContainer();
 
-    private HashMap<Window, Boolean> ieCache = new LinkedHashMap<>();
+    /**
+     * Whether each window's title makes it interactive. Filled by the
+     * {@link WindowTracker} thread and cleared from the tray.
+     */
+    private final Map<Window, Boolean> ieCache = new ConcurrentHashMap<>();
 
     /**
      * Randomly chosen window for jump action targeting.
      */
     public Area activeIe = new Area();
 
-    private Window activeIeObject = null;
+    private volatile WindowTracker.ActiveWindow activeIeObject = null;
+
+    /**
+     * Keeps the active window and the stacking order up to date from X events.
+     */
+    private final WindowTracker tracker;
+
+    /**
+     * The ledges last applied to {@link #ledgeAreas}.
+     */
+    private List<WindowTracker.Ledge> ledges = List.of();
+
+    /**
+     * One area per ledge, in the same order. Areas are reused for the same
+     * window so that mascots standing on a ledge move with it.
+     */
+    private List<Area> ledgeAreas = List.of();
+
+    private volatile BorderIndex windowBorders = BorderIndex.EMPTY;
 
     /**
      * Current screen. Never changes after initial assignment.
@@ -64,8 +88,9 @@ class X11Environment extends Environment {
      * Variables for configuration options.
      */
     private int xOffset, yOffset, wMod, hMod = 0;
-    private String[] windowTitles = null;
-    private String[] windowTitlesBlacklist = null;
+    // Cleared by refreshCache() while the tracking thread reads them, so each is read only once per use
+    private volatile String[] windowTitles = null;
+    private volatile String[] windowTitlesBlacklist = null;
 
 
     /**
@@ -91,7 +116,7 @@ class X11Environment extends Environment {
     private int fullscreenValue;
     private int dockValue;
 
-    private enum IeStatus {
+    enum IeStatus {
         /** The IE is valid. */
         VALID,
         /** The IE is invalid and blocks any other valid IEs. */
@@ -109,20 +134,22 @@ class X11Environment extends Environment {
     X11Environment() {
         workArea.set(getWorkAreaRect());
 
-        maximizedVertValue = display.getAtom("_NET_WM_STATE_MAXIMIZED_VERT").intValue();
-        maximizedHorzValue = display.getAtom("_NET_WM_STATE_MAXIMIZED_HORZ").intValue();
-        minimizedValue = display.getAtom("_NET_WM_STATE_HIDDEN").intValue();
-        fullscreenValue = display.getAtom("_NET_WM_STATE_FULLSCREEN").intValue();
+        maximizedVertValue = XConnection.getAtom("_NET_WM_STATE_MAXIMIZED_VERT").intValue();
+        maximizedHorzValue = XConnection.getAtom("_NET_WM_STATE_MAXIMIZED_HORZ").intValue();
+        minimizedValue = XConnection.getAtom("_NET_WM_STATE_HIDDEN").intValue();
+        fullscreenValue = XConnection.getAtom("_NET_WM_STATE_FULLSCREEN").intValue();
         badStateList.add(minimizedValue);
-        badStateList.add(display.getAtom("_NET_WM_STATE_MODAL").intValue());
-        badStateList.add(display.getAtom("_NET_WM_STATE_ABOVE").intValue());
+        badStateList.add(XConnection.getAtom("_NET_WM_STATE_MODAL").intValue());
+        badStateList.add(XConnection.getAtom("_NET_WM_STATE_ABOVE").intValue());
 
-        dockValue = display.getAtom("_NET_WM_WINDOW_TYPE_DOCK").intValue();
+        dockValue = XConnection.getAtom("_NET_WM_WINDOW_TYPE_DOCK").intValue();
         badTypeList.add(dockValue);
-        badTypeList.add(display.getAtom("_NET_WM_WINDOW_TYPE_DESKTOP").intValue());
-        badTypeList.add(display.getAtom("_NET_WM_WINDOW_TYPE_MENU").intValue());
-        badTypeList.add(display.getAtom("_NET_WM_WINDOW_TYPE_SPLASH").intValue());
-        badTypeList.add(display.getAtom("_NET_WM_WINDOW_TYPE_DIALOG").intValue());
+        badTypeList.add(XConnection.getAtom("_NET_WM_WINDOW_TYPE_DESKTOP").intValue());
+        badTypeList.add(XConnection.getAtom("_NET_WM_WINDOW_TYPE_MENU").intValue());
+        badTypeList.add(XConnection.getAtom("_NET_WM_WINDOW_TYPE_SPLASH").intValue());
+        badTypeList.add(XConnection.getAtom("_NET_WM_WINDOW_TYPE_DIALOG").intValue());
+
+        tracker = new WindowTracker(this);
         // TODO Change this proprietary config format to use the existing one
         /* try (InputStream fstream = Files.newInputStream(Path.of("window.conf")); DataInputStream in = new DataInputStream(fstream); InputStreamReader inr = new InputStreamReader(in); BufferedReader br = new BufferedReader(inr)) {
             String strLine;
@@ -171,9 +198,41 @@ class X11Environment extends Environment {
         q++; */
 
         // workArea.set(getWorkAreaRect());
-        final Rectangle ieRect = getWindowBounds(findActiveIE());
+        final WindowTracker.ActiveWindow active = tracker.getActiveWindow();
+        activeIeObject = active.interactive() && active.bounds().intersects(getScreenRect()) ? active : null;
+        final Rectangle ieRect = activeIeObject != null ? activeIeObject.bounds() : new Rectangle();
         activeIe.setVisible(ieRect.intersects(getScreen().toRectangle()));
         activeIe.set(ieRect);
+
+        updateLedges();
+    }
+
+    /**
+     * Applies the ledges seen by the tracker to their areas. Areas are set
+     * every tick so that their movement is only counted once.
+     */
+    private void updateLedges() {
+        final List<WindowTracker.Ledge> latest = tracker.getLedges();
+        if (latest != ledges) {
+            final Map<Long, Deque<Area>> reusable = new HashMap<>();
+            for (int i = 0; i < ledges.size(); i++) {
+                reusable.computeIfAbsent(ledges.get(i).window(), id -> new ArrayDeque<>()).add(ledgeAreas.get(i));
+            }
+            final List<Area> areas = new ArrayList<>(latest.size());
+            for (final WindowTracker.Ledge ledge : latest) {
+                final Deque<Area> previous = reusable.get(ledge.window());
+                final Area area = previous == null || previous.isEmpty() ? new Area() : previous.poll();
+                area.set(ledge.bounds());
+                areas.add(area);
+            }
+            ledges = latest;
+            ledgeAreas = areas;
+            windowBorders = new BorderIndex(areas);
+            return;
+        }
+        for (int i = 0; i < ledges.size(); i++) {
+            ledgeAreas.get(i).set(ledges.get(i).bounds());
+        }
     }
 
     /**
@@ -192,75 +251,79 @@ class X11Environment extends Environment {
             return;
         }
         updateOnNext = false;
-        try {
-            // Retrieve all windows from the X Display
-            // allWindows = display.getWindows();
-            // allWindows = display.getRootWindow().getSubwindows();
-            allWindows = display.getRootWindow().getAllSubwindows();
-
+        // Titles, bounds and properties below are all requests on the shared display
+        synchronized (XConnection.LOCK) {
             try {
-                curDesktop = display.getActiveDesktopNumber();
-            } catch (X11Exception e) {
-                curDesktop = 0;
-            }
-            for (Window window : allWindows) {
-                // Break for-loop if the window title does not match config.
-                if (!isIE(window)) {
-                    // Check checkTitles after isIE() is called because isIE() sets the value of checkTitles.
-                    if (checkTitles) {
-                        continue;
-                    }
+                // Retrieve all windows from the X Display
+                // allWindows = display.getWindows();
+                // allWindows = display.getRootWindow().getSubwindows();
+                allWindows = display.getRootWindow().getAllSubwindows();
+
+                try {
+                    curDesktop = display.getActiveDesktopNumber();
+                } catch (X11Exception e) {
+                    curDesktop = 0;
                 }
-                // Get window attributes.
-                id = window.getID();
-                Rectangle bounds = window.getBounds();
-                x = bounds.x + xOffset;
-                y = bounds.y + yOffset;
-                w = bounds.width + wMod;
-                h = bounds.height + hMod;
-                if (ieContainer.containsKey(id)) {
-                    a = ieContainer.get(id);
-                    int desktop;
-                    try {
-                        desktop = window.getDesktop();
-                    } catch (X11Exception e) {
-                        desktop = 0;
+                for (Window window : allWindows) {
+                    // Break for-loop if the window title does not match config.
+                    if (!isIE(window)) {
+                        // Check checkTitles after isIE() is called because isIE() sets the value of checkTitles.
+                        if (checkTitles) {
+                            continue;
+                        }
                     }
-                    boolean badDesktop = desktop != curDesktop && desktop != -1;
-                    boolean badState = checkState(Arrays.asList(window.getState()));
-                    if (checkTitles) {
-                        if (badDesktop || badState) {
-                            ieContainer.get(id).setVisible(false);
-                        } else {
-                            ieContainer.get(id).setVisible(true);
-                            curVisibleWin.add(id);
+                    // Get window attributes.
+                    id = window.getID();
+                    Rectangle bounds = window.getBounds();
+                    x = bounds.x + xOffset;
+                    y = bounds.y + yOffset;
+                    w = bounds.width + wMod;
+                    h = bounds.height + hMod;
+                    if (ieContainer.containsKey(id)) {
+                        a = ieContainer.get(id);
+                        int desktop;
+                        try {
+                            desktop = window.getDesktop();
+                        } catch (X11Exception e) {
+                            desktop = 0;
                         }
-                    } else {
-                        boolean badType = checkType(Arrays.asList(window.getType()));
-                        if (badDesktop || badType || badState) {
-                            ieContainer.get(id).setVisible(false);
+                        boolean badDesktop = desktop != curDesktop && desktop != -1;
+                        boolean badState = checkState(Arrays.asList(window.getState()));
+                        if (checkTitles) {
+                            if (badDesktop || badState) {
+                                ieContainer.get(id).setVisible(false);
+                            } else {
+                                ieContainer.get(id).setVisible(true);
+                                curVisibleWin.add(id);
+                            }
                         } else {
-                            ieContainer.get(id).setVisible(true);
-                            curVisibleWin.add(id);
+                            boolean badType = checkType(Arrays.asList(window.getType()));
+                            if (badDesktop || badType || badState) {
+                                ieContainer.get(id).setVisible(false);
+                            } else {
+                                ieContainer.get(id).setVisible(true);
+                                curVisibleWin.add(id);
+                            }
                         }
+                        r = a.toRectangle();
+                        Rectangle newRect = new Rectangle(x, y, w, h);
+                        a.set(newRect);
+                        if (!r.equals(newRect)) {
+                            updateOnNext = true;
+                            ieContainer.invalidate();
+                        }
+                        curActiveWin.add(id);
+                    } else {
+                        r = new Rectangle(x, y, w, h);
+                        a = new Area();
+                        a.set(r);
+                        a.setVisible(false);
+                        ieContainer.put(id, a);
+                        curActiveWin.add(id);
                     }
-                    r = a.toRectangle();
-                    Rectangle newRect = new Rectangle(x, y, w, h);
-                    if (!r.equals(newRect)) {
-                        updateOnNext = true;
-                    }
-                    a.set(newRect);
-                    curActiveWin.add(id);
-                } else {
-                    r = new Rectangle(x, y, w, h);
-                    a = new Area();
-                    a.set(r);
-                    a.setVisible(false);
-                    ieContainer.put(id, a);
-                    curActiveWin.add(id);
                 }
+            } catch (X11Exception ignored) {
             }
-        } catch (X11Exception ignored) {
         }
         // Remove user-terminated windows from the container every 5th tick
         for (Map.Entry<Number, Area> entry : ieContainer.entrySet()) {
@@ -306,10 +369,12 @@ class X11Environment extends Environment {
 
         // blacklist takes precedence over whitelist
         boolean blacklistInUse = false;
-        if (windowTitlesBlacklist == null) {
-            windowTitlesBlacklist = Main.getInstance().getProperties().getProperty("InteractiveWindowsBlacklist", "").split("/");
+        String[] blacklist = windowTitlesBlacklist;
+        if (blacklist == null) {
+            blacklist = Main.getInstance().getProperties().getProperty("InteractiveWindowsBlacklist", "").split("/");
+            windowTitlesBlacklist = blacklist;
         }
-        for (String windowTitle : windowTitlesBlacklist) {
+        for (String windowTitle : blacklist) {
             if (!windowTitle.trim().isEmpty()) {
                 blacklistInUse = true;
                 if (ieTitle.contains(windowTitle)) {
@@ -321,10 +386,12 @@ class X11Environment extends Environment {
 
         // whitelist
         boolean whitelistInUse = false;
-        if (windowTitles == null) {
-            windowTitles = Main.getInstance().getProperties().getProperty("InteractiveWindows", "").split("/");
+        String[] whitelist = windowTitles;
+        if (whitelist == null) {
+            whitelist = Main.getInstance().getProperties().getProperty("InteractiveWindows", "").split("/");
+            windowTitles = whitelist;
         }
-        for (String windowTitle : windowTitles) {
+        for (String windowTitle : whitelist) {
             if (!windowTitle.trim().isEmpty()) {
                 // Window is IE
                 whitelistInUse = true;
@@ -346,7 +413,12 @@ class X11Environment extends Environment {
         }
     }
 
-    private IeStatus getIeStatus(Window window) {
+    /**
+     * Checks whether a window can be used by mascots.
+     *
+     * @param display the connection the window was obtained from
+     */
+    IeStatus getIeStatus(Display display, Window window) {
         int curDesktop;
         int desktop;
         // int[] state;
@@ -397,43 +469,6 @@ class X11Environment extends Environment {
         return IeStatus.IGNORED;
     }
 
-    private Window findActiveIE() {
-        activeIeObject = null;
-
-        // Retrieve all windows from the X Display
-        Window[] allWindows;
-        try {
-            // allWindows = display.getWindows();
-            // allWindows = display.getRootWindow().getSubwindows();
-            // allWindows = display.getRootWindow().getAllSubwindows();
-
-            // Because this support is so badly optimized, we will only check the currently focused window for now.
-            allWindows = new Window[]{display.getActiveWindow()};
-        } catch (X11Exception e) {
-            return null;
-        }
-
-        loop:
-        for (Window window : allWindows) {
-            switch (getIeStatus(window)) {
-                case VALID:
-                    activeIeObject = window;
-                    break loop;
-
-                case OUT_OF_BOUNDS:
-                case IGNORED: // Valid window but not interactive according to user settings
-                    continue;
-
-                case INVALID: // Something invalid is the foreground object
-                default:
-                    activeIeObject = null;
-                    break loop;
-            }
-        }
-
-        return activeIeObject;
-    }
-
     /**
      * Gets the given window's bounds.
      *
@@ -453,7 +488,7 @@ class X11Environment extends Environment {
      *
      * @return the window's title
      */
-    private static String getWindowTitle(Window window) {
+    static String getWindowTitle(Window window) {
         if (window == null) {
             return "";
         }
@@ -466,6 +501,13 @@ class X11Environment extends Environment {
         return title;
     }
 
+    /**
+     * Drops the cached verdict on a window, for when its title has changed or it is no longer looked at.
+     */
+    void forget(final Window window) {
+        ieCache.remove(window);
+    }
+
     private boolean checkState(Collection<Integer> state) {
         if (state == null || state.isEmpty()) {
             return true;
@@ -520,22 +562,34 @@ class X11Environment extends Environment {
         return activeIe;
     }
 
+    @Override
+    public BorderIndex getWindowBorders() {
+        return windowBorders;
+    }
+
     @Override
     public String getActiveIETitle() {
-        return getWindowTitle(activeIeObject);
+        final WindowTracker.ActiveWindow active = activeIeObject;
+        return active == null ? "" : active.title();
     }
 
     @Override
     public long getActiveWindowId() {
-        return activeIeObject == null ? 0 : activeIeObject.getID();
+        final WindowTracker.ActiveWindow active = activeIeObject;
+        return active == null ? 0 : active.id();
     }
 
     // TODO Implement the three below methods
     @Override
     public void moveActiveIE(Point point) {
-        if (activeIeObject != null) {
+        final WindowTracker.ActiveWindow active = activeIeObject;
+        if (active != null) {
             // FIXME Mascots will often let go of a window very shortly after they pick it up, without throwing it
-            X11Extra.INSTANCE.XMoveWindow(display.getX11Display(), activeIeObject.getX11Window(), point.x, point.y);
+            synchronized (XConnection.LOCK) {
+                X11Extra.INSTANCE.XMoveWindow(display.getX11Display(), new X11.Window(active.id()), point.x, point.y);
+                // Nothing else is sent on this connection every tick any more, so the request would wait otherwise
+                display.flush();
+            }
         }
     }
 
@@ -585,10 +639,13 @@ class X11Environment extends Environment {
         windowTitlesBlacklist = null;
         curActiveWin.clear();
         curVisibleWin.clear();
+        tracker.refresh();
     }
 
     @Override
     public void dispose() {
+        tracker.close();
+        XConnection.release();
     }
 
     @Override
@@ -604,44 +661,85 @@ class X11Environment extends Environment {
      */
     public static class WindowContainer extends Hashtable<Number, Area> {
 
+        /**
+         * Borders of every window, rebuilt on the first query after a
+         * window is added, removed, moved or resized.
+         */
+        private transient BorderIndex borders = BorderIndex.EMPTY;
+
+        private transient boolean stale;
+
+        @Override
+        public synchronized Area put(final Number key, final Area value) {
+            stale = true;
+            return super.put(key, value);
+        }
+
+        @Override
+        public synchronized Area remove(final Object key) {
+            stale = true;
+            return super.remove(key);
+        }
+
+        @Override
+        public synchronized void clear() {
+            stale = true;
+            super.clear();
+        }
+
+        /**
+         * Must be called after the bounds of a window already in the
+         * container have been changed in place.
+         */
+        public synchronized void invalidate() {
+            stale = true;
+        }
+
+        private synchronized BorderIndex getBorders() {
+            if (stale) {
+                borders = new BorderIndex(values());
+                stale = false;
+            }
+            return borders;
+        }
+
         /**
          * onBorder, getBorder methods - Called by mascots when
-         * determining the next action. Iterate through all windows,
-         * get the specific border type and call its isOn() to
-         * check whether the mascot anchor is on the border. One
-         * method for plain boolean checks, one for getting the border
-         * when needing to decide movement destinations based on it.
+         * determining the next action. Look the anchor up in the
+         * border index, which checks each candidate border's isOn().
+         * One method for plain boolean checks, one for getting the
+         * border when needing to decide movement destinations based on it.
          */
         public boolean onLeft(final Point p) {
-            return values().stream().map(area -> new Wall(area, false)).anyMatch(w -> w.isOn(p));
+            return getLeft(p) != null;
         }
 
         public boolean onRight(final Point p) {
-            return values().stream().map(area -> new Wall(area, true)).anyMatch(w -> w.isOn(p));
+            return getRight(p) != null;
         }
 
         public boolean onTop(final Point p) {
-            return values().stream().map(area -> new FloorCeiling(area, false)).anyMatch(w -> w.isOn(p));
+            return getTop(p) != null;
         }
 
         public boolean onBottom(final Point p) {
-            return values().stream().map(area -> new FloorCeiling(area, true)).anyMatch(w -> w.isOn(p));
+            return getBottom(p) != null;
         }
 
         public Wall getLeft(final Point p) {
-            return values().stream().map(area -> new Wall(area, false)).filter(w -> w.isOn(p)).findFirst().orElse(null);
+            return getBorders().getLeft(p);
         }
 
         public Wall getRight(final Point p) {
-            return values().stream().map(area -> new Wall(area, true)).filter(w -> w.isOn(p)).findFirst().orElse(null);
+            return getBorders().getRight(p);
         }
 
         public FloorCeiling getTop(final Point p) {
-            return values().stream().map(area -> new FloorCeiling(area, false)).filter(w -> w.isOn(p)).findFirst().orElse(null);
+            return getBorders().getTop(p);
         }
 
         public FloorCeiling getBottom(final Point p) {
-            return values().stream().map(area -> new FloorCeiling(area, true)).filter(w -> w.isOn(p)).findFirst().orElse(null);
+            return getBorders().getBottom(p);
         }
     }
 }
@@ -32,7 +32,11 @@ class X11TranslucentWindow extends JWindow implements TranslucentWindow {
     private X11NativeImage image;
 
     private static final X11 x11 = X11.INSTANCE;
-    private final X11.Display dpy = x11.XOpenDisplay(null);
+    /**
+     * The shared connection, let go of when the window is disposed.
+     */
+    private final X11.Display dpy = XConnection.acquire().getX11Display();
+    private final AtomicBoolean released = new AtomicBoolean();
     private X11.Window win = null;
     private float alpha = 1.0f;
 
@@ -112,8 +116,19 @@ class X11TranslucentWindow extends JWindow implements TranslucentWindow {
 
     public void setToDock(int value) {
         IntByReference dockAtom = new IntByReference(value);
-        x11.XChangeProperty(dpy, win, x11.XInternAtom(dpy, "_NET_WM_WINDOW_TYPE", false),
-                x11.XA_ATOM, 32, x11.PropModeReplace, dockAtom.getPointer(), 1);
+        synchronized (XConnection.LOCK) {
+            x11.XChangeProperty(dpy, win, XConnection.getAtom("_NET_WM_WINDOW_TYPE"),
+                    x11.XA_ATOM, 32, x11.PropModeReplace, dockAtom.getPointer(), 1);
+            x11.XFlush(dpy);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        if (released.compareAndSet(false, true)) {
+            XConnection.release();
+        }
     }
 
 
@@ -0,0 +1,68 @@
+package com.group_finity.mascot.x11;
+
+import com.group_finity.mascot.x11.X.Display;
+import com.sun.jna.platform.unix.X11;
+
+/**
+ * The connection to the X server shared by the environment and every mascot window.
+ * <p>
+ * Opening a connection per window costs a connection setup and one of the server's
+ * limited client slots each time, so the first user opens the connection and the
+ * last one to let go of it closes it. Xlib connections must not be used from more
+ * than one thread at a time, so requests on the shared display are made while
+ * holding {@link #LOCK}.
+ */
+final class XConnection {
+
+    /**
+     * Held while making requests on the shared display.
+     */
+    static final Object LOCK = new Object();
+
+    private static Display display;
+
+    private static int users;
+
+    private XConnection() {
+    }
+
+    /**
+     * Returns the shared display, opening it if nobody is using it yet.
+     * Every call must be matched by one to {@link #release()}.
+     */
+    static Display acquire() {
+        synchronized (LOCK) {
+            if (display == null) {
+                display = new Display();
+            }
+            users++;
+            return display;
+        }
+    }
+
+    /**
+     * Lets go of the shared display, closing it once nobody uses it.
+     */
+    static void release() {
+        synchronized (LOCK) {
+            if (users == 0) {
+                return;
+            }
+            users--;
+            if (users == 0) {
+                display.close();
+                display = null;
+            }
+        }
+    }
+
+    /**
+     * Returns an atom of the shared display, only asking the server the first time.
+     * Must only be called while the display is acquired.
+     */
+    static X11.Atom getAtom(final String name) {
+        synchronized (LOCK) {
+            return display.getAtom(name);
+        }
+    }
+}
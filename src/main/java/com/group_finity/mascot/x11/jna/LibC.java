@@ -0,0 +1,19 @@
+package com.group_finity.mascot.x11.jna;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+
+public interface LibC extends Library {
+    LibC INSTANCE = Native.load("c", LibC.class);
+
+    int pipe(int[] fds);
+
+    int poll(PollFd[] fds, int nfds, int timeout);
+
+    NativeLong read(int fd, byte[] buffer, NativeLong count);
+
+    NativeLong write(int fd, byte[] buffer, NativeLong count);
+
+    int close(int fd);
+}
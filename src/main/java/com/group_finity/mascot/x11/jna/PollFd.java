@@ -0,0 +1,13 @@
+package com.group_finity.mascot.x11.jna;
+
+import com.sun.jna.Structure;
+import com.sun.jna.Structure.FieldOrder;
+
+@FieldOrder({"fd", "events", "revents"})
+public class PollFd extends Structure {
+    public static final short POLLIN = 0x1;
+
+    public int fd;
+    public short events;
+    public short revents;
+}
@@ -9,4 +9,6 @@ public interface X11Extra extends Library {
     X11Extra INSTANCE = Native.load("X11", X11Extra.class);
 
     void XMoveWindow(Display display, Window w, int x, int y);
+
+    int XConnectionNumber(Display display);
 }
@@ -0,0 +1,82 @@
+package com.group_finity.mascot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.group_finity.mascot.headless.HeadlessSimulation;
+
+class ManagerTest {
+
+	private static final String IMAGE_SET = "Shimeji";
+
+	private HeadlessSimulation simulation;
+
+	private Manager manager;
+
+	private Mascot first;
+
+	private Mascot second;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		simulation = new HeadlessSimulation();
+		assertTrue(simulation.load(IMAGE_SET), "the " + IMAGE_SET + " image set could not be loaded");
+		manager = simulation.getManager();
+		first = simulation.spawn(IMAGE_SET);
+		second = simulation.spawn(IMAGE_SET);
+		simulation.tick();
+	}
+
+	@AfterEach
+	void tearDown() {
+		simulation.dispose();
+	}
+
+	@Test
+	void overlapIsSeenAsSoonAsAMascotMovesOntoAnother() {
+		first.setAnchor(new Point(100, 100));
+		second.setAnchor(new Point(900, 500));
+		assertFalse(manager.hasOverlappingMascotsAtPoint(new Point(100, 100)));
+
+		// As a scanner does when it reaches its target, in the middle of a tick
+		second.setAnchor(new Point(100, 100));
+		assertTrue(manager.hasOverlappingMascotsAtPoint(new Point(100, 100)));
+		assertEquals(List.of(), manager.getMascotsAt(new Point(900, 500)));
+
+		second.setAnchor(new Point(101, 100));
+		assertFalse(manager.hasOverlappingMascotsAtPoint(new Point(100, 100)));
+	}
+
+	@Test
+	void areaQueriesFollowLiveAnchors() {
+		first.setAnchor(new Point(10, 10));
+		second.setAnchor(new Point(1000, 10));
+		assertEquals(List.of(first), manager.getMascotsIn(new Rectangle(0, 0, 100, 100)));
+		assertEquals(List.of(second), manager.getMascotsWithin(new Point(1000, 0), 10));
+
+		second.setAnchor(new Point(50, 50));
+		assertEquals(2, manager.getMascotsIn(new Rectangle(0, 0, 100, 100)).size());
+		assertEquals(List.of(), manager.getMascotsWithin(new Point(1000, 0), 10));
+	}
+
+	@Test
+	void departedMascotsAreNotFound() {
+		first.setAnchor(new Point(300, 300));
+		second.setAnchor(new Point(300, 300));
+		second.dispose();
+		simulation.tick();
+		// The tick may have moved the first mascot; the second has left, so it no longer counts wherever it is put
+		second.setAnchor(first.getAnchor());
+		assertFalse(manager.hasOverlappingMascotsAtPoint(first.getAnchor()));
+		assertEquals(List.of(first), manager.getMascotsAt(first.getAnchor()));
+	}
+}
@@ -0,0 +1,135 @@
+package com.group_finity.mascot.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.group_finity.mascot.Main;
+import com.group_finity.mascot.Mascot;
+import com.group_finity.mascot.headless.HeadlessSimulation;
+
+/**
+ * Checks {@link MascotEnvironment#sweep( int, int )} against the per-pixel probe Fall used before it, on screens
+ * and active windows placed at random.
+ */
+class MascotEnvironmentTest
+{
+    private static final String IMAGE_SET = "Shimeji";
+
+    private static final int LINES = 20000;
+
+    /**
+     * How many lines are swept before the screens and the active window are moved again.
+     */
+    private static final int LINES_PER_LAYOUT = 200;
+
+    private HeadlessSimulation simulation;
+
+    private Mascot mascot;
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        simulation = new HeadlessSimulation( );
+        assertTrue( simulation.load( IMAGE_SET ), "the " + IMAGE_SET + " image set could not be loaded" );
+        mascot = simulation.spawn( IMAGE_SET );
+        simulation.tick( );
+    }
+
+    @AfterEach
+    void tearDown( )
+    {
+        simulation.dispose( );
+        Main.getInstance( ).getProperties( ).remove( "Multiscreen" );
+    }
+
+    @ParameterizedTest
+    @ValueSource( booleans = { false, true } )
+    void sweepStopsWhereThePerPixelProbeDid( final boolean multiscreen )
+    {
+        Main.getInstance( ).getProperties( ).setProperty( "Multiscreen", String.valueOf( multiscreen ) );
+        final Random random = new Random( 17 );
+        final MascotEnvironment environment = mascot.getEnvironment( );
+
+        for( int line = 0; line < LINES; line++ )
+        {
+            if( line % LINES_PER_LAYOUT == 0 )
+            {
+                layOut( random );
+            }
+
+            final Point start = new Point( random.nextInt( 1500 ) - 50, random.nextInt( 800 ) - 50 );
+            final int dx = random.nextInt( 61 ) - 30;
+            final int dy = random.nextInt( 61 ) - 25;
+            mascot.setLookRight( random.nextBoolean( ) );
+
+            mascot.setAnchor( start );
+            environment.getWorkArea( );
+            final Point expected = probe( environment, start, dx, dy );
+
+            mascot.setAnchor( start );
+            environment.getWorkArea( );
+            assertEquals( expected, environment.sweep( dx, dy ),
+                    "from " + start + " by (" + dx + ", " + dy + ") looking " + ( mascot.isLookRight( ) ? "right" : "left" ) );
+        }
+    }
+
+    /**
+     * Puts one or two screens and possibly an active window at random places.
+     */
+    private void layOut( final Random random )
+    {
+        final List<Rectangle> screens = new ArrayList<>( );
+        screens.add( new Rectangle( 0, 0, 800, 600 ) );
+        if( random.nextBoolean( ) )
+        {
+            screens.add( new Rectangle( 800, random.nextInt( 200 ) - 100, 600, 400 + random.nextInt( 300 ) ) );
+        }
+        simulation.getEnvironment( ).setScreens( screens );
+        simulation.getEnvironment( ).setActiveWindow( random.nextInt( 4 ) == 0 ? null
+                : new Rectangle( random.nextInt( 1000 ) - 100, random.nextInt( 600 ), 50 + random.nextInt( 400 ), 50 + random.nextInt( 300 ) ) );
+        simulation.getEnvironment( ).advance( );
+    }
+
+    /**
+     * The probe Fall made before sweep replaced it, stepping a pixel at a time and testing every border at each step.
+     */
+    private Point probe( final MascotEnvironment environment, final Point start, final int dx, final int dy )
+    {
+        final int dev = Math.max( 1, Math.max( Math.abs( dx ), Math.abs( dy ) ) );
+
+        OUTER: for( int i = 0; i <= dev; ++i )
+        {
+            final int x = start.x + dx * i / dev;
+            final int y = start.y + dy * i / dev;
+
+            mascot.setAnchor( new Point( x, y ) );
+            if( dy > 0 )
+            {
+                for( int j = -80; j <= 0; ++j )
+                {
+                    mascot.setAnchor( new Point( x, y + j ) );
+                    if( environment.getFloor( true ).isOn( mascot.getAnchor( ) ) )
+                    {
+                        break OUTER;
+                    }
+                }
+            }
+            if( environment.getWall( true ).isOn( mascot.getAnchor( ) ) )
+            {
+                break;
+            }
+        }
+        return mascot.getAnchor( );
+    }
+}
@@ -0,0 +1,183 @@
+package com.group_finity.mascot.script;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.Point;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.group_finity.mascot.exception.VariableException;
+
+/**
+ * Checks that {@link Expression} gives the same values, of the same types, as Rhino does for the same script, and
+ * that it leaves to Rhino whatever it does not handle the same way.
+ */
+class ExpressionTest {
+
+	/**
+	 * Something for scripts to read properties of and call methods on.
+	 */
+	public static final class Sample {
+
+		public int count = 3;
+
+		public final Point anchor = new Point(10, -4);
+
+		private int calls;
+
+		public boolean isOn(final Point point) {
+			calls++;
+			return anchor.equals(point);
+		}
+
+		public double getHalf(final int value) {
+			calls++;
+			return value / 2.0;
+		}
+
+		public int getSize(final int value) {
+			calls++;
+			return value;
+		}
+
+		public int getSize(final String value) {
+			calls++;
+			return value.length();
+		}
+
+		public boolean isVisible() {
+			return true;
+		}
+
+		public int bump() {
+			return ++count;
+		}
+	}
+
+	private Sample sample;
+
+	private VariableMap variables;
+
+	@BeforeEach
+	void setUp() {
+		sample = new Sample();
+		variables = new VariableMap();
+		variables.put("sample", sample);
+		variables.put("x", 7.0);
+		variables.put("y", -2.5);
+		variables.put("zero", 0.0);
+		variables.put("name", "Walk");
+		variables.put("empty", "");
+		variables.put("flag", true);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "1", "1.5", "x", "-x", "+y", "x + y", "x - 10", "x * y", "x / 2", "x / zero", "-x / zero",
+			"zero / zero", "x % 3", "y % 2", "-zero", "1e3", ".5", "x < y", "x <= 7", "x > y", "x >= 8", "'a' < 'b'",
+			"name < 'Run'", "x == 7", "x != 7", "x === 7", "x !== 7", "name == 'Walk'", "name === 'Run'", "flag == true",
+			"flag !== false", "sample == sample", "sample === null", "null == null", "null == 0", "x === '7'",
+			"!flag", "!x", "!zero", "!empty", "!name", "flag ? x : y", "zero ? 'yes' : 'no'", "(x + 1) * 2",
+			"x - -y", "1 + 2 * 3 - 4 / 2", "true", "false", "null", "'text'", "\"text\"" })
+	void operatorsGiveRhinosValues(final String source) throws VariableException {
+		assertSameAsRhino(source);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "zero || name", "x || name", "empty || zero", "null || x", "flag && x", "zero && name",
+			"name && empty", "empty && flag", "x > 1 && name", "x < 1 || sample", "null && x" })
+	void logicalOperatorsGiveBackAnOperand(final String source) throws VariableException {
+		assertSameAsRhino(source);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "sample.count", "sample.anchor", "sample.anchor.x", "sample.anchor.y + 1", "sample.visible",
+			"sample.isOn(sample.anchor)", "sample.getHalf(x)", "!sample.isOn(sample.anchor)" })
+	void propertiesAndQueriesGiveRhinosValues(final String source) throws VariableException {
+		assertSameAsRhino(source);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "x == '7'", "flag == 1", "name == 0", "sample == 'x'", "name + 1", "'a' + 'b'", "x < name",
+			"-name", "sample.anchor.z", "undefinedName", "sample.getHalf(name)", "sample.getHalf(x / zero)" })
+	void looseTypesAreLeftToRhino(final String source) {
+		assertLeftToRhino(source);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "010", "0x10", "08", "1e", "'a\\nb'", "'a\\\\b'", "'unterminated", "Math.PI", "Math",
+			"Math.floor", "Math.unknown(1)", "Math.pow(x, 2)", "x = 1", "x++", "[1, 2]", "typeof x", "this", "undefined", "NaN",
+			"function() {}", "x ; y", "x & 1", "x >> 1" })
+	void unsupportedSourcesAreRejected(final String source) {
+		assertNull(Expression.compile(source), source);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "sample.bump()", "sample.toString()", "sample.hashCode()", "sample.anchor.translate(1, 1)",
+			"sample.is()", "sample.island()", "sample.getter()" })
+	void callsToAnythingButQueriesAreRejected(final String source) {
+		assertNull(Expression.compile(source), source);
+	}
+
+	@Test
+	void overloadedQueriesAreLeftToRhinoWithoutBeingCalled() {
+		assertLeftToRhino("sample.getSize(1)");
+		assertEquals(0, sample.calls);
+	}
+
+	@Test
+	void aVariableNamedMathIsLeftToRhino() throws VariableException {
+		variables.put("Math", sample);
+		assertLeftToRhino("Math.abs(x)");
+		assertLeftToRhino("Math.random() < 2");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "Math.round(2.5)", "Math.round(-2.5)", "Math.round(-0.4)", "Math.round(0.4)",
+			"Math.round(-0)", "Math.round(0.49999999999999994)", "Math.round(-0.5)", "Math.round(4503599627370495.5)",
+			"Math.round(-4503599627370497)", "Math.round(1e300)", "Math.round(-1e300)", "Math.round(zero / zero)",
+			"Math.round(x / zero)", "Math.round(-x / zero)", "Math.round(y)" })
+	void roundingGivesRhinosValues(final String source) throws VariableException {
+		assertSameAsRhino(source);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "Math.abs(y)", "Math.abs(-zero)", "Math.floor(y)", "Math.ceil(y)", "Math.sqrt(x)",
+			"Math.sqrt(y)", "Math.sign(y)", "Math.sign(-zero)", "Math.min(x, y)", "Math.max(x, y)", "Math.min(x, y, -9)",
+			"Math.min(zero, -zero)", "Math.max(-zero, zero)", "Math.max(x, zero / zero)" })
+	void mathFunctionsGiveRhinosValues(final String source) throws VariableException {
+		assertSameAsRhino(source);
+	}
+
+	@Test
+	void randomGivesANumberOfRhinosType() throws VariableException {
+		final Object fast = compile("Math.random()").evaluate(variables);
+		final Object scripted = new Script("Math.random()", false).evaluateScripted(variables);
+		assertEquals(scripted.getClass(), fast.getClass());
+	}
+
+	private Expression compile(final String source) {
+		final Expression expression = Expression.compile(source);
+		assertNotNull(expression, () -> source + " was not compiled");
+		return expression;
+	}
+
+	private void assertSameAsRhino(final String source) throws VariableException {
+		final Object fast = compile(source).evaluate(variables);
+		final Object scripted = new Script(source, false).evaluateScripted(variables);
+		assertEquals(scripted, fast, source);
+		if (scripted != null) {
+			assertEquals(scripted.getClass(), fast.getClass(), () -> "type of " + source);
+		}
+	}
+
+	private void assertLeftToRhino(final String source) {
+		final Expression expression = compile(source);
+		assertThrows(Expression.Unsupported.class, () -> expression.evaluate(variables), source);
+	}
+}